@@ -0,0 +1,46 @@
+package ipss.web2.examen.benchmarks;
+
+import ipss.web2.examen.services.BusquedaIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Búsqueda por nombre en el índice en memoria, con 'nombres' nombres distintos repartidos en
+// catálogos de 600 láminas: prefijo, error de tipeo en una palabra y consulta sin tildes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusquedaBenchmark {
+
+    private static final int TAMANO_CATALOGO = 600;
+
+    @Param({"1000", "100000"})
+    public int nombres;
+
+    @Param({"lamina 421", "lamna 421", "personaje 99"})
+    public String consulta;
+
+    private BusquedaIndex indice;
+
+    @Setup
+    public void preparar() {
+        indice = new BusquedaIndex();
+        for (int desde = 0, albumId = 1; desde < nombres; desde += TAMANO_CATALOGO, albumId++) {
+            List<String> catalogo = new ArrayList<>(TAMANO_CATALOGO);
+            for (int i = desde; i < Math.min(desde + TAMANO_CATALOGO, nombres); i++) {
+                catalogo.add(EscenarioLaminas.nombre(i));
+            }
+            indice.actualizarAlbum(albumId, catalogo);
+        }
+    }
+
+    @Benchmark
+    public List<BusquedaIndex.Resultado> buscar() {
+        return indice.buscar(consulta, 10, 2, nombre -> true);
+    }
+}
@@ -0,0 +1,70 @@
+package ipss.web2.examen.benchmarks;
+
+import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Validación contra el catálogo en la carga masiva: búsqueda en el índice por nombre
+// normalizado frente al recorrido lineal con equalsIgnoreCase, y el lote completo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogoBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int tamanoCatalogo;
+
+    @Param({"1000"})
+    public int tamanoLote;
+
+    private EscenarioLaminas escenario;
+    private List<LaminaRequestDTO> lote;
+
+    @Setup
+    public void preparar() {
+        escenario = new EscenarioLaminas(tamanoCatalogo);
+        lote = new ArrayList<>(tamanoLote);
+        for (int i = 0; i < tamanoLote; i++) {
+            // Una de cada diez láminas no está en el catálogo
+            String nombre = i % 10 == 9 ? "Fuera de catálogo " + i : EscenarioLaminas.nombre((i * 7) % tamanoCatalogo);
+            lote.add(new LaminaRequestDTO(null, nombre.toUpperCase(), null, LocalDate.of(2025, 1, 1), "CONTENIDO"));
+        }
+    }
+
+    @Benchmark
+    public int coincidenciaConIndice() {
+        int encontradas = 0;
+        for (LaminaRequestDTO dto : lote) {
+            if (escenario.indice.contiene(dto.getNombre())) {
+                encontradas++;
+            }
+        }
+        return encontradas;
+    }
+
+    @Benchmark
+    public int coincidenciaLineal() {
+        int encontradas = 0;
+        for (LaminaRequestDTO dto : lote) {
+            if (escenario.catalogo.stream().anyMatch(cat -> cat.getNombre().equalsIgnoreCase(dto.getNombre()))) {
+                encontradas++;
+            }
+        }
+        return encontradas;
+    }
+
+    @Benchmark
+    public List<LaminaCargueMasivoResponseDTO> agregarLaminasMasivo() {
+        return escenario.laminaService.agregarLaminasMasivo(
+            new LaminaCargueMasivoRequestDTO(escenario.album.getId(), lote));
+    }
+}
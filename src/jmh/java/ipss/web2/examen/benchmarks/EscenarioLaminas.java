@@ -0,0 +1,159 @@
+package ipss.web2.examen.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.dtos.LaminaResponseDTO;
+import ipss.web2.examen.mappers.LaminaMapper;
+import ipss.web2.examen.metrics.LaminaMetricas;
+import ipss.web2.examen.models.Album;
+import ipss.web2.examen.models.Lamina;
+import ipss.web2.examen.models.LaminaCatalogo;
+import ipss.web2.examen.models.LaminaConteo;
+import ipss.web2.examen.repositories.AlbumRepository;
+import ipss.web2.examen.repositories.LaminaCatalogoRepository;
+import ipss.web2.examen.repositories.LaminaConteoRepository;
+import ipss.web2.examen.repositories.LaminaJdbcRepository;
+import ipss.web2.examen.repositories.LaminaRepository;
+import ipss.web2.examen.services.AlbumVersionService;
+import ipss.web2.examen.services.CatalogoCacheService;
+import ipss.web2.examen.services.CatalogoIndex;
+import ipss.web2.examen.services.LaminaConteoService;
+import ipss.web2.examen.services.LaminaService;
+import jakarta.persistence.EntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Datos en memoria y servicios armados sobre repositorios falsos (sin Spring ni base de datos).
+// Por cada lámina del catálogo: i % 3 == 0 falta, i % 3 == 1 una copia, i % 3 == 2 dos o tres copias.
+public class EscenarioLaminas {
+
+    public final Album album;
+    public final List<LaminaCatalogo> catalogo = new ArrayList<>();
+    public final List<Lamina> laminas = new ArrayList<>();
+    public final List<LaminaConteo> conteos = new ArrayList<>();
+    // Lo que devuelven las consultas proyectadas a DTO
+    public final List<LaminaResponseDTO> laminasDTO;
+    public final List<LaminaCatalogoResponseDTO> catalogoDTO;
+    public final CatalogoIndex indice;
+    public final LaminaMapper laminaMapper = new LaminaMapper();
+    public final LaminaService laminaService;
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    public EscenarioLaminas(int tamanoCatalogo) {
+        LocalDateTime ahora = LocalDateTime.of(2025, 1, 1, 12, 0);
+        album = Album.builder().id(1L).nombre("Álbum de prueba").year(2025)
+            .descripcion("Benchmark").createdAt(ahora).updatedAt(ahora).active(true).build();
+
+        for (int i = 0; i < tamanoCatalogo; i++) {
+            LaminaCatalogo cat = new LaminaCatalogo((long) i + 1, nombre(i), "https://img/" + i,
+                LocalDate.of(2025, 1, 1), i % 10 == 0 ? "PORTADA" : "CONTENIDO", ahora, ahora, true, album);
+            catalogo.add(cat);
+
+            int copias = i % 3 == 0 ? 0 : i % 3 == 1 ? 1 : 2 + (i % 2);
+            for (int c = 0; c < copias; c++) {
+                laminas.add(new Lamina(secuencia.incrementAndGet(), cat.getNombre(), cat.getImagen(),
+                    cat.getFechaLanzamiento(), cat.getTipoLamina(), ahora, ahora, true, album));
+            }
+            if (copias > 0) {
+                conteos.add(new LaminaConteo((long) i + 1, album.getId(), cat.getId(), copias, ahora));
+            }
+        }
+
+        laminasDTO = laminas.stream().map(laminaMapper::toResponseDTO).toList();
+        catalogoDTO = catalogo.stream().map(laminaMapper::toCatalogoResponseDTO).toList();
+        indice = CatalogoIndex.desde(album.getId(), catalogo);
+        laminaService = crearLaminaService();
+    }
+
+    public static String nombre(int i) {
+        return "Lámina " + i + " - Personaje de la temporada";
+    }
+
+    // Armar LaminaService con los mismos colaboradores que en producción, respaldados en memoria
+    private LaminaService crearLaminaService() {
+        LaminaRepository laminaRepository = repositorio(LaminaRepository.class, Map.of(
+            "findResponseByAlbumIdAndActiveTrue", args -> laminasDTO,
+            "contarCopiasPorNombre", args -> List.of()));
+        LaminaCatalogoRepository laminaCatalogoRepository = repositorio(LaminaCatalogoRepository.class, Map.of(
+            "findResponseByAlbumIdAndActiveTrue", args -> catalogoDTO,
+            "findByAlbumIdAndActiveTrue", args -> catalogo));
+        AlbumRepository albumRepository = repositorio(AlbumRepository.class, Map.of(
+            "findById", args -> Optional.of(album),
+            "existsById", args -> true,
+            "incrementarVersion", args -> 1));
+        LaminaConteoRepository laminaConteoRepository = repositorio(LaminaConteoRepository.class, Map.of(
+            "findByAlbumId", args -> conteos));
+
+        // Los inserts JDBC solo asignan IDs: se mide la clasificación del lote, no la base de datos
+        LaminaJdbcRepository laminaJdbcRepository = new LaminaJdbcRepository(null) {
+            @Override
+            public void insertarEnLote(List<Lamina> nuevas) {
+                nuevas.forEach(lamina -> lamina.setId(secuencia.incrementAndGet()));
+            }
+
+            @Override
+            public void sumarConteosEnLote(Long albumId, Map<Long, Integer> deltasPorCatalogo) {
+            }
+        };
+
+        // Equivale a tener siempre el catálogo en caché
+        CatalogoCacheService catalogoCacheService = new CatalogoCacheService(laminaCatalogoRepository, null, evento -> { }) {
+            @Override
+            public CatalogoIndex obtenerIndice(Long albumId) {
+                return indice;
+            }
+        };
+
+        AlbumVersionService albumVersionService = new AlbumVersionService(albumRepository, evento -> { });
+        LaminaConteoService laminaConteoService = new LaminaConteoService(laminaConteoRepository, laminaJdbcRepository,
+            albumVersionService, evento -> { });
+
+        // Sin base de datos: cada bloque corre directo, sin transacción, y el contexto de persistencia no existe
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <R> R execute(TransactionCallback<R> accion) {
+                return accion.doInTransaction(null);
+            }
+        };
+        EntityManager entityManager = repositorio(EntityManager.class, Map.of(
+            "flush", args -> null,
+            "clear", args -> null));
+
+        LaminaService servicio = new LaminaService(laminaRepository, laminaJdbcRepository, laminaCatalogoRepository,
+            albumRepository, laminaConteoService, catalogoCacheService, albumVersionService, laminaMapper,
+            new LaminaMetricas(new SimpleMeterRegistry(), 8), transactionTemplate, entityManager);
+        ReflectionTestUtils.setField(servicio, "tamanoBloque", 500);
+        return servicio;
+    }
+
+    // Repositorio falso: responde por nombre de método con los datos en memoria
+    @SuppressWarnings("unchecked")
+    static <T> T repositorio(Class<T> tipo, Map<String, Function<Object[], Object>> respuestas) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, (proxy, metodo, args) -> {
+            if (metodo.getDeclaringClass() == Object.class) {
+                return switch (metodo.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> tipo.getSimpleName() + " en memoria";
+                };
+            }
+            Function<Object[], Object> respuesta = respuestas.get(metodo.getName());
+            if (respuesta == null) {
+                throw new UnsupportedOperationException(tipo.getSimpleName() + "." + metodo.getName());
+            }
+            return respuesta.apply(args);
+        });
+    }
+}
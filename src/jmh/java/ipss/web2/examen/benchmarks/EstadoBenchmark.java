@@ -0,0 +1,62 @@
+package ipss.web2.examen.benchmarks;
+
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.dtos.LaminasEstadoDTO;
+import ipss.web2.examen.models.Lamina;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// LaminaService.obtenerEstado completo y, por separado, la agregación en Java que hacía
+// antes de los contadores (agrupar todas las láminas, filtrar faltantes, mapa de repetidas)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstadoBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int tamanoCatalogo;
+
+    private EscenarioLaminas escenario;
+
+    @Setup
+    public void preparar() {
+        escenario = new EscenarioLaminas(tamanoCatalogo);
+    }
+
+    @Benchmark
+    public LaminasEstadoDTO obtenerEstado() {
+        return escenario.laminaService.obtenerEstado(escenario.album.getId());
+    }
+
+    @Benchmark
+    public void agrupacionEnJava(Blackhole bh) {
+        List<Lamina> laminasPoseidas = escenario.laminas;
+
+        Set<String> nombresPoseidos = laminasPoseidas.stream()
+            .map(Lamina::getNombre)
+            .collect(Collectors.toSet());
+
+        List<LaminaCatalogoResponseDTO> laminasFaltantes = escenario.catalogo.stream()
+            .filter(catalogo -> !nombresPoseidos.contains(catalogo.getNombre()))
+            .map(escenario.laminaMapper::toCatalogoResponseDTO)
+            .collect(Collectors.toList());
+
+        Map<String, Integer> laminasRepetidas = laminasPoseidas.stream()
+            .collect(Collectors.groupingBy(Lamina::getNombre, Collectors.summingInt(l -> 1)))
+            .entrySet().stream()
+            .filter(e -> e.getValue() > 1)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        bh.consume(laminasFaltantes);
+        bh.consume(laminasRepetidas);
+    }
+}
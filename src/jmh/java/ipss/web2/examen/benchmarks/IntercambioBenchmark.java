@@ -0,0 +1,53 @@
+package ipss.web2.examen.benchmarks;
+
+import ipss.web2.examen.services.IntercambioIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Búsqueda de candidatos de intercambio en el índice invertido, con álbumes que comparten
+// un catálogo de 'tamanoCatalogo' láminas (~30% faltantes y ~30% repetidas por álbum)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntercambioBenchmark {
+
+    @Param({"1000", "100000"})
+    public int albumes;
+
+    @Param({"600"})
+    public int tamanoCatalogo;
+
+    private IntercambioIndex indice;
+    private SplittableRandom aleatorio;
+
+    @Setup
+    public void preparar() {
+        indice = new IntercambioIndex();
+        aleatorio = new SplittableRandom(42);
+        for (long albumId = 1; albumId <= albumes; albumId++) {
+            List<String> repetidas = new ArrayList<>();
+            List<String> faltantes = new ArrayList<>();
+            for (int i = 0; i < tamanoCatalogo; i++) {
+                double valor = aleatorio.nextDouble();
+                if (valor < 0.3) {
+                    faltantes.add(EscenarioLaminas.nombre(i));
+                } else if (valor > 0.7) {
+                    repetidas.add(EscenarioLaminas.nombre(i));
+                }
+            }
+            indice.actualizarAlbum(albumId, 0, repetidas, faltantes);
+        }
+    }
+
+    @Benchmark
+    public List<IntercambioIndex.Candidato> buscarCandidatos() {
+        return indice.buscarCandidatos(aleatorio.nextLong(1, albumes + 1L), 20);
+    }
+}
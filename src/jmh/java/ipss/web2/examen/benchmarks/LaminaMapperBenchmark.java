@@ -0,0 +1,47 @@
+package ipss.web2.examen.benchmarks;
+
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.dtos.LaminaResponseDTO;
+import ipss.web2.examen.mappers.LaminaMapper;
+import ipss.web2.examen.models.Lamina;
+import ipss.web2.examen.models.LaminaCatalogo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Conversión de entidades a DTO en LaminaMapper sobre listas del tamaño del catálogo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LaminaMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int tamanoCatalogo;
+
+    private List<Lamina> laminas;
+    private List<LaminaCatalogo> catalogo;
+    private LaminaMapper laminaMapper;
+
+    @Setup
+    public void preparar() {
+        EscenarioLaminas escenario = new EscenarioLaminas(tamanoCatalogo);
+        laminas = escenario.laminas;
+        catalogo = escenario.catalogo;
+        laminaMapper = escenario.laminaMapper;
+    }
+
+    @Benchmark
+    public List<LaminaResponseDTO> toResponseDTO() {
+        return laminas.stream().map(laminaMapper::toResponseDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LaminaCatalogoResponseDTO> toCatalogoResponseDTO() {
+        return catalogo.stream().map(laminaMapper::toCatalogoResponseDTO).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,83 @@
+package ipss.web2.examen.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import ipss.web2.examen.dtos.ApiResponseDTO;
+import ipss.web2.examen.dtos.LaminasEstadoDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Serialización Jackson de la respuesta de GET /api/albums/{albumId}/catalogo/estado,
+// con la misma configuración de fechas que usa Spring Boot por defecto. Compara JSON por
+// reflexión (antes) con JSON, CBOR y Smile con Blackbird (después); los bytes por respuesta
+// de cada formato se imprimen al preparar el escenario
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    private static final TypeReference<ApiResponseDTO<LaminasEstadoDTO>> TIPO_RESPUESTA = new TypeReference<>() {};
+
+    @Param({"10", "1000", "100000"})
+    public int tamanoCatalogo;
+
+    @Param({"json", "json-blackbird", "cbor-blackbird", "smile-blackbird"})
+    public String formato;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseDTO<LaminasEstadoDTO> respuesta;
+    private byte[] serializada;
+
+    @Setup
+    public void preparar() throws Exception {
+        objectMapper = crearObjectMapper(formato);
+
+        EscenarioLaminas escenario = new EscenarioLaminas(tamanoCatalogo);
+        respuesta = ApiResponseDTO.<LaminasEstadoDTO>builder()
+            .success(true)
+            .message("Estado del álbum obtenido")
+            .data(escenario.laminaService.obtenerEstado(escenario.album.getId()))
+            .timestamp(LocalDateTime.now())
+            .build();
+
+        serializada = objectMapper.writeValueAsBytes(respuesta);
+        System.out.printf("%n[bytes] formato=%s tamanoCatalogo=%d: %d bytes por respuesta%n",
+            formato, tamanoCatalogo, serializada.length);
+    }
+
+    @Benchmark
+    public byte[] serializarEstado() throws Exception {
+        return objectMapper.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public ApiResponseDTO<LaminasEstadoDTO> deserializarEstado() throws Exception {
+        return objectMapper.readValue(serializada, TIPO_RESPUESTA);
+    }
+
+    private static ObjectMapper crearObjectMapper(String formato) {
+        JsonFactory factory = switch (formato) {
+            case "cbor-blackbird" -> new CBORFactory();
+            case "smile-blackbird" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        ObjectMapper mapper = new ObjectMapper(factory)
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (formato.endsWith("-blackbird")) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+}
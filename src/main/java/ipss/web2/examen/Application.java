@@ -2,12 +2,18 @@ package ipss.web2.examen;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class Application {
 
+	// Pasos de arranque guardados para /actuator/startup y el reporte de ArranqueMetricas
+	private static final int PASOS_ARRANQUE = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(Application.class, args);
+		SpringApplication application = new SpringApplication(Application.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(PASOS_ARRANQUE));
+		application.run(args);
 	}
 
 }
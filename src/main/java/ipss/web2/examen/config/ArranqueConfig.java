@@ -0,0 +1,28 @@
+package ipss.web2.examen.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Arranque rápido (perfil Maven aot + archivo CDS, ver Dockerfile). La corrida de entrenamiento
+// del archivo CDS levanta el contexto sin base de datos (app.arranque.entrenamiento=true): con AOT
+// las condiciones de los beans quedan fijas en el build, así que Flyway no se puede desactivar con
+// spring.flyway.enabled y la migración se omite aquí
+@Slf4j
+@Configuration
+public class ArranqueConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.arranque.entrenamiento:false}") boolean entrenamiento) {
+        return flyway -> {
+            if (entrenamiento) {
+                log.info("Corrida de entrenamiento: se omiten las migraciones de Flyway");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
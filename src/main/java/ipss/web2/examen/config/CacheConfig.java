@@ -0,0 +1,13 @@
+package ipss.web2.examen.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Configuración para habilitar la caché de Spring (Caffeine, ver spring.cache.* en application.properties)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Índice del catálogo activo por álbum (CatalogoCacheService)
+    public static final String CATALOGOS = "catalogos";
+}
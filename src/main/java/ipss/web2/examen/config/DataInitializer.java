@@ -6,7 +6,10 @@ import ipss.web2.examen.models.LaminaCatalogo;
 import ipss.web2.examen.repositories.AlbumRepository;
 import ipss.web2.examen.repositories.LaminaRepository;
 import ipss.web2.examen.repositories.LaminaCatalogoRepository;
+import ipss.web2.examen.services.AlbumVersionService;
+import ipss.web2.examen.services.LaminaConteoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -21,15 +24,32 @@ public class DataInitializer implements CommandLineRunner {
     private final AlbumRepository albumRepository;
     private final LaminaRepository laminaRepository;
     private final LaminaCatalogoRepository laminaCatalogoRepository;
+    private final GeneradorDatosSinteticos generadorDatosSinteticos;
+    private final LaminaConteoService laminaConteoService;
+    private final AlbumVersionService albumVersionService;
+
+    // demo: álbumes de anime de ejemplo; sintetico: volumen de producción (app.datos.sinteticos.*); ninguno
+    @Value("${app.datos.modo:demo}")
+    private String modo;
 
     @Override
     public void run(String... args) throws Exception {
+        if ("ninguno".equals(modo)) {
+            return;
+        }
+
         // Verificar si ya existen datos
         if (albumRepository.count() > 0) {
             System.out.println("⚠️ Base de datos ya contiene datos. Saltando inicialización.");
             return;
         }
 
+        if ("sintetico".equals(modo)) {
+            generadorDatosSinteticos.generar();
+            albumVersionService.incrementarListado();
+            return;
+        }
+
         System.out.println("🚀 Iniciando población de base de datos con anime populares...");
 
         // ==================== ALBUM 1: CABALLEROS DEL ZODIACO ====================
@@ -150,6 +170,8 @@ public class DataInitializer implements CommandLineRunner {
         // Agregar láminas de prueba (no agregar ninguna, solo catálogo)
         // Este álbum está sin completar
 
+        albumVersionService.incrementarListado();
+
         System.out.println("✅ Base de datos poblada exitosamente");
         System.out.println("   📚 5 Álbumes creados con catálogos");
         System.out.println("   🖼️  15 Láminas en catálogo");
@@ -193,5 +215,8 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         albumRepository.save(album);
+
+        // Las láminas de ejemplo se guardan sin pasar por LaminaService: calcular sus contadores
+        laminaConteoService.reconciliar(album.getId());
     }
 }
@@ -0,0 +1,23 @@
+package ipss.web2.examen.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Datos sintéticos (app.datos.sinteticos.*) que genera DataInitializer con app.datos.modo=sintetico:
+// albumes × tamanoCatalogo láminas de catálogo y, por álbum, copias repartidas con sesgo Zipf
+@ConfigurationProperties("app.datos.sinteticos")
+public record DatosSinteticosProperties(
+    @DefaultValue("1000") int albumes,
+    @DefaultValue("600") int tamanoCatalogo,
+    // Copias promedio por lámina del catálogo (las láminas sin copias quedan como faltantes)
+    @DefaultValue("1.5") double copiasPorLamina,
+    // Exponente Zipf del reparto de copias: 0 = parejo; con 1 o más unas pocas láminas concentran
+    // las repetidas y crecen las faltantes. Las láminas favorecidas cambian de un álbum a otro
+    @DefaultValue("1.0") double sesgoRepetidas,
+    // Misma semilla y mismos parámetros = mismos datos, sin importar la cantidad de hilos
+    @DefaultValue("42") long semilla,
+    @DefaultValue("4") int hilos,
+    @DefaultValue("50") int albumesPorTransaccion,
+    // Filas por executeBatch JDBC (MySQL los reescribe como INSERT multi-fila)
+    @DefaultValue("1000") int tamanoLote
+) {}
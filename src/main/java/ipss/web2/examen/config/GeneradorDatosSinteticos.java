@@ -0,0 +1,290 @@
+package ipss.web2.examen.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Generador de datos sintéticos a escala de producción (ver DatosSinteticosProperties).
+// Los álbumes se reparten en bloques de albumesPorTransaccion; cada bloque corre en su propia
+// transacción en uno de 'hilos' hilos e inserta álbumes, catálogos, láminas y contadores con
+// lotes JDBC. Cada álbum usa su propio generador derivado de la semilla, así el resultado no
+// depende del orden en que terminan los hilos
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(DatosSinteticosProperties.class)
+public class GeneradorDatosSinteticos {
+
+    private static final String INSERT_ALBUM =
+        "INSERT INTO album (nombre, year, descripcion, created_at, updated_at, is_active) VALUES (?, ?, ?, ?, ?, TRUE)";
+
+    private static final String INSERT_CATALOGO =
+        "INSERT INTO lamina_catalogo (nombre, imagen, fecha_lanzamiento, tipo_lamina, created_at, updated_at, is_active, album_id) " +
+        "VALUES (?, NULL, ?, ?, ?, ?, TRUE, ?)";
+
+    private static final String INSERT_LAMINA =
+        "INSERT INTO lamina (nombre, imagen, fecha_lanzamiento, tipo_lamina, created_at, updated_at, is_active, album_id) " +
+        "VALUES (?, NULL, ?, ?, ?, ?, TRUE, ?)";
+
+    private static final String INSERT_CONTEO =
+        "INSERT INTO lamina_conteo (album_id, lamina_catalogo_id, cantidad, updated_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatosSinteticosProperties propiedades;
+
+    // Fila de lámina o de contador pendiente de insertar: índice en el catálogo y álbum
+    private record Fila(long albumId, int indiceCatalogo, long catalogoId, int cantidad) {}
+
+    public void generar() {
+        long inicio = System.nanoTime();
+        log.info("🚀 Generando datos sintéticos: {} álbumes × {} láminas de catálogo, {} copias por lámina, sesgo {}, semilla {}",
+            propiedades.albumes(), propiedades.tamanoCatalogo(), propiedades.copiasPorLamina(),
+            propiedades.sesgoRepetidas(), propiedades.semilla());
+
+        double[] pesos = pesosZipf(propiedades.tamanoCatalogo(), propiedades.sesgoRepetidas());
+        AtomicLong albumes = new AtomicLong();
+        AtomicLong laminas = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, propiedades.hilos()));
+        try {
+            List<Future<?>> bloques = new ArrayList<>();
+            int porBloque = Math.max(1, propiedades.albumesPorTransaccion());
+            for (int desde = 0; desde < propiedades.albumes(); desde += porBloque) {
+                int inicioBloque = desde;
+                int finBloque = Math.min(desde + porBloque, propiedades.albumes());
+                bloques.add(executor.submit(() -> transactionTemplate.executeWithoutResult(estado -> {
+                    laminas.addAndGet(generarBloque(inicioBloque, finBloque, pesos));
+                    long listos = albumes.addAndGet(finBloque - inicioBloque);
+                    log.info("   {} de {} álbumes generados ({} láminas)", listos, propiedades.albumes(), laminas.get());
+                })));
+            }
+            for (Future<?> bloque : bloques) {
+                bloque.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación de datos sintéticos interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la generación de datos sintéticos", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long catalogo = (long) propiedades.albumes() * propiedades.tamanoCatalogo();
+        log.info("✅ Datos sintéticos generados en {} s: {} álbumes, {} láminas de catálogo, {} láminas ({} filas/s)",
+            String.format("%.1f", segundos), albumes.get(), catalogo, laminas.get(),
+            Math.round((albumes.get() + catalogo + laminas.get()) / Math.max(segundos, 0.001)));
+    }
+
+    // Generar los álbumes [desde, hasta) en la transacción en curso; devuelve las láminas insertadas
+    private long generarBloque(int desde, int hasta, double[] pesos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        long[] albumIds = insertarAlbumes(desde, hasta, ahora);
+
+        List<Fila> catalogo = new ArrayList<>(albumIds.length * propiedades.tamanoCatalogo());
+        for (int a = 0; a < albumIds.length; a++) {
+            for (int i = 0; i < propiedades.tamanoCatalogo(); i++) {
+                catalogo.add(new Fila(albumIds[a], i, 0, 0));
+            }
+        }
+        long[] catalogoIds = insertar(INSERT_CATALOGO, catalogo, true, (ps, fila) -> {
+            ps.setString(1, nombreLamina(fila.indiceCatalogo()));
+            ps.setDate(2, Date.valueOf(fechaLanzamiento(fila.albumId())));
+            ps.setString(3, tipoLamina(fila.indiceCatalogo()));
+            ps.setTimestamp(4, Timestamp.valueOf(ahora));
+            ps.setTimestamp(5, Timestamp.valueOf(ahora));
+            ps.setLong(6, fila.albumId());
+        });
+
+        List<Fila> conteos = new ArrayList<>(catalogo.size());
+        for (int a = 0; a < albumIds.length; a++) {
+            int[] copias = copiasPorLamina(desde + a, pesos);
+            for (int i = 0; i < copias.length; i++) {
+                if (copias[i] > 0) {
+                    int posicion = a * propiedades.tamanoCatalogo() + i;
+                    conteos.add(new Fila(albumIds[a], i, catalogoIds[posicion], copias[i]));
+                }
+            }
+        }
+
+        // Las láminas se insertan en lotes de tamanoLote sin materializar una fila por copia
+        long totalLaminas = 0;
+        List<Fila> lote = new ArrayList<>(propiedades.tamanoLote());
+        for (Fila conteo : conteos) {
+            for (int copia = 0; copia < conteo.cantidad(); copia++) {
+                lote.add(conteo);
+                if (lote.size() == propiedades.tamanoLote()) {
+                    totalLaminas += insertarLaminas(lote, ahora);
+                    lote.clear();
+                }
+            }
+        }
+        totalLaminas += insertarLaminas(lote, ahora);
+
+        insertar(INSERT_CONTEO, conteos, false, (ps, fila) -> {
+            ps.setLong(1, fila.albumId());
+            ps.setLong(2, fila.catalogoId());
+            ps.setInt(3, fila.cantidad());
+            ps.setTimestamp(4, Timestamp.valueOf(ahora));
+        });
+        return totalLaminas;
+    }
+
+    private long[] insertarAlbumes(int desde, int hasta, LocalDateTime ahora) {
+        List<Fila> albumes = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            albumes.add(new Fila(i, 0, 0, 0));
+        }
+        return insertar(INSERT_ALBUM, albumes, true, (ps, fila) -> {
+            ps.setString(1, "Álbum sintético " + (fila.albumId() + 1));
+            ps.setInt(2, anio(fila.albumId()));
+            ps.setString(3, "Generado con semilla " + propiedades.semilla());
+            ps.setTimestamp(4, Timestamp.valueOf(ahora));
+            ps.setTimestamp(5, Timestamp.valueOf(ahora));
+        });
+    }
+
+    private int insertarLaminas(List<Fila> lote, LocalDateTime ahora) {
+        insertar(INSERT_LAMINA, lote, false, (ps, fila) -> {
+            ps.setString(1, nombreLamina(fila.indiceCatalogo()));
+            ps.setDate(2, Date.valueOf(fechaLanzamiento(fila.albumId())));
+            ps.setString(3, tipoLamina(fila.indiceCatalogo()));
+            ps.setTimestamp(4, Timestamp.valueOf(ahora));
+            ps.setTimestamp(5, Timestamp.valueOf(ahora));
+            ps.setLong(6, fila.albumId());
+        });
+        return lote.size();
+    }
+
+    @FunctionalInterface
+    private interface Parametros {
+        void asignar(PreparedStatement ps, Fila fila) throws SQLException;
+    }
+
+    // Insertar las filas en lotes de tamanoLote; con 'claves' devuelve los IDs generados en orden
+    private long[] insertar(String sql, List<Fila> filas, boolean claves, Parametros parametros) {
+        long[] ids = new long[claves ? filas.size() : 0];
+        for (int desde = 0; desde < filas.size(); desde += propiedades.tamanoLote()) {
+            List<Fila> lote = filas.subList(desde, Math.min(desde + propiedades.tamanoLote(), filas.size()));
+            BatchPreparedStatementSetter setter = new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    parametros.asignar(ps, lote.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return lote.size();
+                }
+            };
+
+            if (!claves) {
+                jdbcTemplate.batchUpdate(sql, setter);
+                continue;
+            }
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), setter, keyHolder);
+            List<Map<String, Object>> generadas = keyHolder.getKeyList();
+            for (int i = 0; i < generadas.size(); i++) {
+                ids[desde + i] = ((Number) generadas.get(i).values().iterator().next()).longValue();
+            }
+        }
+        return ids;
+    }
+
+    // Copias de cada lámina del catálogo para el álbum número 'album': Poisson con media
+    // proporcional al peso Zipf de su posición, en un orden de láminas propio de cada álbum
+    private int[] copiasPorLamina(int album, double[] pesos) {
+        SplittableRandom aleatorio = new SplittableRandom(propiedades.semilla() * 0x9E3779B97F4A7C15L + album);
+        int tamano = pesos.length;
+        int[] orden = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            orden[i] = i;
+        }
+        for (int i = tamano - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int temporal = orden[i];
+            orden[i] = orden[j];
+            orden[j] = temporal;
+        }
+
+        double totalCopias = tamano * propiedades.copiasPorLamina();
+        int[] copias = new int[tamano];
+        for (int rango = 0; rango < tamano; rango++) {
+            copias[orden[rango]] = poisson(aleatorio, totalCopias * pesos[rango]);
+        }
+        return copias;
+    }
+
+    // Pesos normalizados 1 / (rango + 1)^sesgo
+    private static double[] pesosZipf(int tamano, double sesgo) {
+        double[] pesos = new double[tamano];
+        double suma = 0;
+        for (int i = 0; i < tamano; i++) {
+            pesos[i] = 1 / Math.pow(i + 1, sesgo);
+            suma += pesos[i];
+        }
+        for (int i = 0; i < tamano; i++) {
+            pesos[i] /= suma;
+        }
+        return pesos;
+    }
+
+    // Poisson exacto (Knuth) para medias chicas; aproximación normal para las grandes
+    private static int poisson(SplittableRandom aleatorio, double media) {
+        if (media <= 0) {
+            return 0;
+        }
+        if (media > 30) {
+            return (int) Math.max(0, Math.round(media + Math.sqrt(media) * aleatorio.nextGaussian()));
+        }
+        double limite = Math.exp(-media);
+        double producto = aleatorio.nextDouble();
+        int cantidad = 0;
+        while (producto > limite) {
+            producto *= aleatorio.nextDouble();
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    private static String nombreLamina(int indice) {
+        return String.format("Lámina %04d", indice + 1);
+    }
+
+    private static String tipoLamina(int indice) {
+        return indice == 0 ? "PORTADA" : "CONTENIDO";
+    }
+
+    private static int anio(long album) {
+        return 1980 + (int) (album % 45);
+    }
+
+    private static LocalDate fechaLanzamiento(long albumId) {
+        return LocalDate.of(anio(albumId), 1, 1);
+    }
+}
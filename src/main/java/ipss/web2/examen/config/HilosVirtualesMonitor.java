@@ -0,0 +1,83 @@
+package ipss.web2.examen.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+
+// Diagnóstico del modo de hilos virtuales (spring.threads.virtual.enabled=true):
+// escucha los eventos JFR jdk.VirtualThreadPinned (p.ej. bloques synchronized del
+// driver JDBC) y los publica como el timer app.threads.virtual.pinned, etiquetado
+// por el paquete donde quedó fijado el hilo
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class HilosVirtualesMonitor {
+
+    private static final String EVENTO_PINNED = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.threads.virtual.pinning-umbral:20ms}")
+    private Duration umbral;
+
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    void iniciar() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(EVENTO_PINNED).withThreshold(umbral).withStackTrace();
+        recordingStream.onEvent(EVENTO_PINNED, this::registrar);
+        recordingStream.startAsync();
+        log.info("Hilos virtuales activos: registrando pinning sobre {} ms", umbral.toMillis());
+    }
+
+    @PreDestroy
+    void detener() {
+        recordingStream.close();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        String origen = origen(evento.getStackTrace());
+        Timer.builder("app.threads.virtual.pinned")
+            .description("Tiempo que un hilo virtual quedó fijado a su hilo portador")
+            .tag("origen", origen)
+            .register(meterRegistry)
+            .record(evento.getDuration());
+        log.debug("Hilo virtual fijado {} ms en {}", evento.getDuration().toMillis(), origen);
+    }
+
+    // Paquete (tres primeros segmentos) del primer frame fuera del JDK, para acotar la cardinalidad
+    private static String origen(RecordedStackTrace pila) {
+        if (pila == null) {
+            return "desconocido";
+        }
+        for (RecordedFrame frame : pila.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String clase = frame.getMethod().getType().getName();
+            if (!clase.startsWith("java.") && !clase.startsWith("jdk.") && !clase.startsWith("sun.")) {
+                String[] partes = clase.split("\\.");
+                int segmentos = Math.max(1, Math.min(3, partes.length - 1));
+                return String.join(".", Arrays.copyOf(partes, segmentos));
+            }
+        }
+        return "jdk";
+    }
+}
@@ -0,0 +1,261 @@
+package ipss.web2.examen.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import ipss.web2.examen.dtos.ApiResponseDTO;
+import ipss.web2.examen.services.IdempotenciaStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+// Soporte de la cabecera Idempotency-Key en POST /api/laminas y POST /api/laminas/masivo (JSON).
+// La primera petición con una clave se ejecuta y su respuesta se guarda (IdempotenciaStore); los
+// reintentos con la misma clave y el mismo contenido reciben esa respuesta sin llegar al servicio
+// ni a la base de datos. Misma clave con otro contenido: 422. Si la original sigue en proceso se
+// espera su respuesta hasta app.idempotencia.espera y luego 409. No se guardan las respuestas 5xx
+// ni las transitorias (408, 409, 429 del límite de tasa): el reintento con la clave se ejecuta de nuevo
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA = "Idempotency-Key";
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    private static final Set<String> RUTAS = Set.of("/api/laminas", "/api/laminas/masivo");
+    private static final int LARGO_MAXIMO_CLAVE = 255;
+
+    private final IdempotenciaStore idempotenciaStore;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.idempotencia.espera:PT10S}")
+    private Duration espera;
+
+    // Solo POST JSON con clave: la carga NDJSON en streaming no se guarda en memoria
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+            || !RUTAS.contains(request.getRequestURI())
+            || request.getHeader(CABECERA) == null
+            || MediaType.APPLICATION_NDJSON_VALUE.equals(tipoBase(request.getContentType()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clave = request.getHeader(CABECERA).strip();
+        if (clave.isEmpty() || clave.length() > LARGO_MAXIMO_CLAVE) {
+            responderError(response, HttpStatus.BAD_REQUEST, "IDEMPOTENCY_KEY_INVALID",
+                "La cabecera " + CABECERA + " debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres");
+            return;
+        }
+
+        byte[] cuerpo = request.getInputStream().readAllBytes();
+        String huella = huella(request, cuerpo);
+        IdempotenciaStore.Reserva reserva = idempotenciaStore.reservar(clave, huella);
+        IdempotenciaStore.Entrada entrada = reserva.entrada();
+
+        if (!reserva.propia()) {
+            responderReintento(response, clave, entrada, huella);
+            return;
+        }
+
+        registrar("original");
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        boolean guardada = false;
+        try {
+            chain.doFilter(new CuerpoLeido(request, cuerpo), respuesta);
+            if (guardable(respuesta.getStatus())) {
+                idempotenciaStore.completar(clave, entrada, new IdempotenciaStore.Respuesta(respuesta.getStatus(),
+                    respuesta.getContentType(), respuesta.getHeader(HttpHeaders.LOCATION),
+                    respuesta.getContentAsByteArray()));
+                guardada = true;
+            }
+        } finally {
+            if (!guardada) {
+                idempotenciaStore.liberar(clave, entrada);
+            }
+            respuesta.copyBodyToResponse();
+        }
+    }
+
+    private void responderReintento(HttpServletResponse response, String clave, IdempotenciaStore.Entrada entrada,
+                                    String huella) throws IOException {
+        if (!entrada.getHuella().equals(huella)) {
+            registrar("conflicto");
+            responderError(response, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                "La clave " + CABECERA + " ya se usó con otra petición");
+            return;
+        }
+
+        Optional<IdempotenciaStore.Respuesta> guardada;
+        try {
+            guardada = entrada.esperar(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            guardada = Optional.empty();
+        }
+        if (guardada.isEmpty()) {
+            registrar("en_proceso");
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            responderError(response, HttpStatus.CONFLICT, "IDEMPOTENCY_REQUEST_IN_PROGRESS",
+                "La petición original con esta clave aún no termina, intenta nuevamente");
+            return;
+        }
+
+        registrar("repetida");
+        log.debug("Respuesta repetida para {} {}", CABECERA, clave);
+        IdempotenciaStore.Respuesta respuesta = guardada.get();
+        response.setStatus(respuesta.status());
+        response.setHeader(CABECERA_REPETIDA, "true");
+        if (respuesta.contentType() != null) {
+            response.setContentType(respuesta.contentType());
+        }
+        if (respuesta.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, respuesta.location());
+        }
+        response.setContentLength(respuesta.cuerpo().length);
+        response.getOutputStream().write(respuesta.cuerpo());
+    }
+
+    private void responderError(HttpServletResponse response, HttpStatus status, String codigo, String mensaje)
+            throws IOException {
+        ApiResponseDTO<Object> cuerpo = ApiResponseDTO.builder()
+            .success(false)
+            .message(mensaje)
+            .errorCode(codigo)
+            .timestamp(LocalDateTime.now())
+            .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), cuerpo);
+    }
+
+    private static boolean guardable(int status) {
+        return status < 500
+            && status != HttpStatus.REQUEST_TIMEOUT.value()
+            && status != HttpStatus.CONFLICT.value()
+            && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void registrar(String resultado) {
+        meterRegistry.counter("app.idempotencia.peticiones", "resultado", resultado).increment();
+    }
+
+    // Huella de la petición: método, ruta, parámetros, tipo de contenido y SHA-256 del cuerpo
+    private static String huella(HttpServletRequest request, byte[] cuerpo) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString()
+                + '\n' + tipoBase(request.getContentType()) + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest(cuerpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String tipoBase(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int separador = contentType.indexOf(';');
+        return (separador < 0 ? contentType : contentType.substring(0, separador)).strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Petición con el cuerpo ya leído (para calcular la huella) que se vuelve a entregar al controlador
+    private static final class CuerpoLeido extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        private CuerpoLeido(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int desde, int largo) {
+                    return entrada.read(destino, desde, largo);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Lectura asíncrona: el cuerpo ya está en memoria, así que todo está disponible de
+                // inmediato (isReady siempre es true) y el listener lo lee en onDataAvailable
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+    }
+}
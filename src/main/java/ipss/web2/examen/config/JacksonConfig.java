@@ -0,0 +1,36 @@
+package ipss.web2.examen.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Serialización de la API: JSON por defecto y CBOR / Smile cuando el cliente los pide en Accept
+// (o los envía en Content-Type). Los tres formatos comparten la configuración de Spring Boot
+// (fechas, módulos), incluido Blackbird
+@Configuration
+public class JacksonConfig {
+
+    // Accesores generados con LambdaMetafactory en lugar de reflexión para getters, setters y constructores.
+    // Spring Boot registra los Module del contexto en todos los ObjectMapper que construye
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Reemplazan a los convertidores CBOR/Smile por defecto de Spring MVC (que no aplican la
+    // configuración de Boot) y quedan después del JSON, que sigue siendo la respuesta para Accept: */*
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,102 @@
+package ipss.web2.examen.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import ipss.web2.examen.exceptions.LimiteExcedidoException;
+import ipss.web2.examen.services.LimitadorTasa;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Límite de tasa y descarte por carga en /api/** (registrado en WebConfig). Corre antes del
+// controlador: una petición rechazada no toca el pool de conexiones. Los rechazos se lanzan como
+// LimiteExcedidoException y GlobalExceptionHandler responde 429 o 503 con Retry-After
+@Slf4j
+@Component
+public class LimiteTasaInterceptor implements HandlerInterceptor {
+
+    // Costo de la petición en curso, para liberarlo al terminar (también en respuestas asíncronas)
+    private static final String ATRIBUTO_EN_CURSO = LimiteTasaInterceptor.class.getName() + ".costo";
+
+    private final LimitadorTasa limitadorTasa;
+    private final LimiteTasaProperties propiedades;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger costoEnCurso = new AtomicInteger();
+
+    public LimiteTasaInterceptor(LimitadorTasa limitadorTasa, LimiteTasaProperties propiedades,
+                                 MeterRegistry meterRegistry) {
+        this.limitadorTasa = limitadorTasa;
+        this.propiedades = propiedades;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("app.limite.costo_en_curso", costoEnCurso, AtomicInteger::get)
+            .description("Suma de costos de las peticiones costosas en curso")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // El despacho asíncrono (NDJSON, SSE) continúa una petición que ya pasó el límite
+        if (!limitadorTasa.isHabilitado() || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = LimitadorTasa.endpoint(request.getMethod(), patron != null ? patron.toString() : "otra");
+        int costo = limitadorTasa.costo(endpoint);
+
+        LimitadorTasa.Resultado resultado = limitadorTasa.consumir(cliente(request), endpoint, costo);
+        if (!resultado.permitido()) {
+            rechazar(endpoint, resultado.motivo());
+            throw new LimiteExcedidoException(
+                "Demasiadas peticiones a " + endpoint + ", intenta nuevamente más tarde",
+                "RATE_LIMITED", segundos(resultado.esperaNanos()), false);
+        }
+
+        if (costo > 1) {
+            if (costoEnCurso.addAndGet(costo) > propiedades.costoEnCursoMaximo()) {
+                costoEnCurso.addAndGet(-costo);
+                rechazar(endpoint, "sobrecarga");
+                throw new LimiteExcedidoException("El servicio está saturado, intenta nuevamente en unos segundos",
+                    "SERVICE_OVERLOADED", 1, true);
+            }
+            request.setAttribute(ATRIBUTO_EN_CURSO, costo);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ATRIBUTO_EN_CURSO) instanceof Integer costo) {
+            request.removeAttribute(ATRIBUTO_EN_CURSO);
+            costoEnCurso.addAndGet(-costo);
+        }
+    }
+
+    private String cliente(HttpServletRequest request) {
+        if (StringUtils.hasText(propiedades.cabeceraCliente())) {
+            String valor = request.getHeader(propiedades.cabeceraCliente());
+            if (StringUtils.hasText(valor)) {
+                return valor.strip();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void rechazar(String endpoint, String motivo) {
+        meterRegistry.counter("app.limite.rechazos", "endpoint", endpoint, "motivo", motivo).increment();
+        log.debug("Petición rechazada por {}: {}", motivo, endpoint);
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
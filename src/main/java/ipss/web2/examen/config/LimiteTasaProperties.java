@@ -0,0 +1,36 @@
+package ipss.web2.examen.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Límite de tasa de /api/** (app.limite.*): por cliente, una cubeta para toda la API y otra por
+// endpoint. Cada petición consume el costo de su endpoint (1 si no está en 'costos') de ambas
+@ConfigurationProperties("app.limite")
+public record LimiteTasaProperties(
+    @DefaultValue("true") boolean habilitado,
+    // Cubeta del cliente para toda la API: ráfaga máxima y unidades recuperadas por segundo
+    @DefaultValue("200") int capacidad,
+    @DefaultValue("50") double recargaPorSegundo,
+    // Cubeta del cliente en cada endpoint
+    @DefaultValue("60") int capacidadEndpoint,
+    @DefaultValue("20") double recargaEndpointPorSegundo,
+    List<Costo> costos,
+    // Cabecera que identifica al cliente (p.ej. una API key validada en el gateway); vacía = IP
+    @DefaultValue("") String cabeceraCliente,
+    // Descarte por carga: suma de costos de las peticiones costosas (costo > 1) en curso en esta
+    // instancia; sobre este valor se responde 503 sin consultar la base de datos
+    @DefaultValue("400") int costoEnCursoMaximo,
+    // Cubetas sin uso durante este tiempo se descartan (quedan llenas); máximo de cubetas en memoria
+    @DefaultValue("10m") Duration inactividad,
+    @DefaultValue("100000") long cubetasMaximas
+) {
+    public LimiteTasaProperties {
+        costos = costos != null ? List.copyOf(costos) : List.of();
+    }
+
+    // Costo de un endpoint: método HTTP y patrón de ruta tal como está mapeado en el controlador
+    public record Costo(String metodo, String ruta, int costo) {}
+}
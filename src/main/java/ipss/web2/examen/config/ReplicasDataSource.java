@@ -0,0 +1,143 @@
+package ipss.web2.examen.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// DataSource de lectura sobre las réplicas: reparte las conexiones en round-robin entre las
+// disponibles y usa la primaria si no queda ninguna. Una réplica se expulsa al fallar una conexión
+// o si verificar() la encuentra caída o atrasada, y vuelve cuando una verificación la encuentra sana
+@Slf4j
+public class ReplicasDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean disponible = true;
+
+        public Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public boolean isDisponible() {
+            return disponible;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Conexion {
+        Connection obtener(DataSource dataSource) throws SQLException;
+    }
+
+    private final List<Replica> replicas;
+    private final DataSource primaria;
+    private final Duration retrasoMaximo;
+    private final String consultaRetraso;
+    private final String columnaRetraso;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public ReplicasDataSource(List<Replica> replicas, DataSource primaria, Duration retrasoMaximo,
+                              String consultaRetraso, String columnaRetraso) {
+        this.replicas = List.copyOf(replicas);
+        this.primaria = primaria;
+        this.retrasoMaximo = retrasoMaximo;
+        this.consultaRetraso = consultaRetraso;
+        this.columnaRetraso = columnaRetraso;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection conectar(Conexion conexion) throws SQLException {
+        int total = replicas.size();
+        int inicio = total > 0 ? Math.floorMod(siguiente.getAndIncrement(), total) : 0;
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (!replica.disponible) {
+                continue;
+            }
+            try {
+                return conexion.obtener(replica.dataSource);
+            } catch (SQLException e) {
+                expulsar(replica, e.getMessage());
+            }
+        }
+        return conexion.obtener(primaria);
+    }
+
+    // Revisar cada réplica: conexión válida y retraso de replicación dentro del máximo
+    public void verificar() {
+        for (Replica replica : replicas) {
+            try (Connection conexion = replica.dataSource.getConnection();
+                 Statement sentencia = conexion.createStatement()) {
+                Duration retraso = medirRetraso(sentencia);
+                if (retraso == null) {
+                    expulsar(replica, "replicación detenida");
+                } else if (retraso.compareTo(retrasoMaximo) > 0) {
+                    expulsar(replica, "retraso de " + retraso.toSeconds() + " s");
+                } else if (!replica.disponible) {
+                    replica.disponible = true;
+                    log.info("Réplica {} reincorporada", replica.nombre);
+                }
+            } catch (SQLException e) {
+                expulsar(replica, e.getMessage());
+            }
+        }
+    }
+
+    // Sin filas es una base que no replica (retraso 0); un valor nulo es replicación detenida
+    private Duration medirRetraso(Statement sentencia) throws SQLException {
+        try (ResultSet resultado = sentencia.executeQuery(consultaRetraso)) {
+            if (!resultado.next()) {
+                return Duration.ZERO;
+            }
+            long segundos = resultado.getLong(columnaRetraso);
+            return resultado.wasNull() ? null : Duration.ofSeconds(segundos);
+        }
+    }
+
+    private void expulsar(Replica replica, String causa) {
+        if (replica.disponible) {
+            replica.disponible = false;
+            log.warn("Réplica {} expulsada de las lecturas: {}", replica.nombre, causa);
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public int disponibles() {
+        return (int) replicas.stream().filter(Replica::isDisponible).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
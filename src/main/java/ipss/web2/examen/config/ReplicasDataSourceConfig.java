@@ -0,0 +1,84 @@
+package ipss.web2.examen.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Réplicas de lectura: el DataSource de la aplicación es un proxy perezoso que pide la conexión
+// real al ejecutar la primera sentencia, cuando ya sabe si la transacción es readOnly. Las readOnly
+// van a las réplicas (ReplicasDataSource) y el resto, incluido Flyway, a spring.datasource.url
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.habilitado", havingValue = "true")
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class ReplicasDataSourceConfig {
+
+    // Pool de la primaria con la configuración spring.datasource.hikari.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicasDataSource replicasDataSource(ReplicasProperties properties,
+                                                 @Qualifier("primariaDataSource") DataSource primaria,
+                                                 MeterRegistry meterRegistry) {
+        List<ReplicasDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.nodos().size(); i++) {
+            ReplicasProperties.Nodo nodo = properties.nodos().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(nodo.url())
+                .username(nodo.username())
+                .password(nodo.password())
+                .build();
+            dataSource.setPoolName("replica-" + (i + 1));
+            dataSource.setMaximumPoolSize(properties.tamanoPool());
+            dataSource.setReadOnly(true);
+            // Los pools de réplicas no son beans: se registran aquí en hikaricp.connections.*
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicasDataSource.Replica(dataSource.getPoolName(), dataSource));
+        }
+
+        ReplicasDataSource replicasDataSource = new ReplicasDataSource(replicas, primaria,
+            properties.retrasoMaximo(), properties.consultaRetraso(), properties.columnaRetraso());
+        Gauge.builder("app.datasource.replicas.disponibles", replicasDataSource, ReplicasDataSource::disponibles)
+            .description("Réplicas de lectura recibiendo transacciones readOnly")
+            .register(meterRegistry);
+        return replicasDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria, ReplicasDataSource replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaria);
+        dataSource.setReadOnlyDataSource(replicas);
+        return dataSource;
+    }
+
+    // Hibernate libera la conexión al terminar cada transacción: con open-in-view la sesión dura
+    // toda la petición y, si retuviera la conexión, una escritura posterior a una lectura iría a la réplica
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexionPorTransaccion() {
+        return propiedades -> propiedades.put("hibernate.connection.handling_mode",
+            "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
@@ -0,0 +1,28 @@
+package ipss.web2.examen.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Réplicas de lectura (app.datasource.replicas.*): las transacciones readOnly usan estas
+// bases en lugar de spring.datasource.url
+@ConfigurationProperties("app.datasource.replicas")
+public record ReplicasProperties(
+    @DefaultValue("false") boolean habilitado,
+    List<Nodo> nodos,
+    // Conexiones por réplica
+    @DefaultValue("10") int tamanoPool,
+    // Una réplica más atrasada que esto deja de recibir lecturas hasta ponerse al día
+    @DefaultValue("5s") Duration retrasoMaximo,
+    // Consulta y columna con los segundos de retraso (sin filas = no es réplica, retraso 0)
+    @DefaultValue("SHOW REPLICA STATUS") String consultaRetraso,
+    @DefaultValue("Seconds_Behind_Source") String columnaRetraso
+) {
+    public ReplicasProperties {
+        nodos = nodos != null ? List.copyOf(nodos) : List.of();
+    }
+
+    public record Nodo(String url, String username, String password) {}
+}
@@ -0,0 +1,11 @@
+package ipss.web2.examen.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Configuración para habilitar tareas programadas
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Habilita los métodos anotados con @Scheduled (reconciliación de contadores, etc.)
+}
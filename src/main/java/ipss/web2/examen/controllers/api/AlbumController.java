@@ -3,12 +3,18 @@ package ipss.web2.examen.controllers.api;
 import ipss.web2.examen.dtos.ApiResponseDTO;
 import ipss.web2.examen.dtos.AlbumRequestDTO;
 import ipss.web2.examen.dtos.AlbumResponseDTO;
+import ipss.web2.examen.dtos.AlbumVersionDTO;
+import ipss.web2.examen.dtos.ArchivoRestauracionDTO;
 import ipss.web2.examen.services.AlbumService;
+import ipss.web2.examen.services.AlbumVersionService;
+import ipss.web2.examen.services.ArchivoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,6 +26,8 @@ import java.util.List;
 public class AlbumController {
     
     private final AlbumService albumService;
+    private final AlbumVersionService albumVersionService;
+    private final ArchivoService archivoService;
     
     // POST /api/albums - Crear nuevo álbum
     @PostMapping
@@ -38,9 +46,13 @@ public class AlbumController {
     // GET /api/albums/{id} - Obtener álbum por ID
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<AlbumResponseDTO>> obtenerAlbumPorId(
-            @PathVariable Long id) {
+            @PathVariable Long id, WebRequest request) {
+        AlbumVersionDTO version = albumVersionService.obtener(id);
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
         AlbumResponseDTO response = albumService.obtenerAlbumPorId(id);
-        return ResponseEntity.ok(
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(
             ApiResponseDTO.<AlbumResponseDTO>builder()
                 .success(true)
                 .message("Álbum recuperado exitosamente")
@@ -51,9 +63,13 @@ public class AlbumController {
     
     // GET /api/albums - Listar todos los álbumes
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<AlbumResponseDTO>>> obtenerTodosLosAlbumes() {
+    public ResponseEntity<ApiResponseDTO<List<AlbumResponseDTO>>> obtenerTodosLosAlbumes(WebRequest request) {
+        AlbumVersionDTO version = albumVersionService.obtenerListado();
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
         List<AlbumResponseDTO> response = albumService.obtenerTodosLosAlbums();
-        return ResponseEntity.ok(
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(
             ApiResponseDTO.<List<AlbumResponseDTO>>builder()
                 .success(true)
                 .message("Álbumes recuperados exitosamente")
@@ -89,4 +105,18 @@ public class AlbumController {
                 .timestamp(LocalDateTime.now())
                 .build());
     }
+    
+    // POST /api/albums/{id}/restaurar - Devolver un álbum archivado (con su catálogo y láminas)
+    @PostMapping("/{id}/restaurar")
+    public ResponseEntity<ApiResponseDTO<ArchivoRestauracionDTO>> restaurarAlbum(@PathVariable Long id) {
+        ArchivoRestauracionDTO restauracion = archivoService.restaurarAlbum(id);
+        return ResponseEntity.ok(
+            ApiResponseDTO.<ArchivoRestauracionDTO>builder()
+                .success(true)
+                .message("Álbum restaurado del archivo con " + restauracion.laminasCatalogo()
+                    + " láminas de catálogo y " + restauracion.laminas() + " láminas")
+                .data(restauracion)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
 }
@@ -0,0 +1,36 @@
+package ipss.web2.examen.controllers.api;
+
+import ipss.web2.examen.dtos.ApiResponseDTO;
+import ipss.web2.examen.dtos.BusquedaLaminaDTO;
+import ipss.web2.examen.services.BusquedaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Controlador REST para la Búsqueda de láminas por nombre - /api/laminas/buscar
+@RestController
+@RequestMapping("/api/laminas/buscar")
+@RequiredArgsConstructor
+public class BusquedaController {
+
+    private final BusquedaService busquedaService;
+
+    // GET /api/laminas/buscar?q=&albumId=&limite= - Láminas por prefijo o nombre aproximado
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<List<BusquedaLaminaDTO>>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Long albumId,
+            @RequestParam(required = false) Integer limite) {
+        List<BusquedaLaminaDTO> resultados = busquedaService.buscar(q, albumId, limite);
+
+        return ResponseEntity.ok(ApiResponseDTO.<List<BusquedaLaminaDTO>>builder()
+                .success(true)
+                .message("Láminas encontradas: " + resultados.size())
+                .data(resultados)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,71 @@
+package ipss.web2.examen.controllers.api;
+
+import ipss.web2.examen.dtos.ApiResponseDTO;
+import ipss.web2.examen.dtos.CargaMasivaJobDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
+import ipss.web2.examen.services.CargaMasivaJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+
+// Controlador REST para cargas masivas asíncronas - /api/laminas/masivo/jobs
+@SuppressWarnings("null")
+@RestController
+@RequestMapping("/api/laminas/masivo/jobs")
+@RequiredArgsConstructor
+public class CargaMasivaJobController {
+
+    private final CargaMasivaJobService cargaMasivaJobService;
+
+    // POST /api/laminas/masivo/jobs - Encolar una carga masiva y responder de inmediato con el ID del job
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<CargaMasivaJobDTO>> crearJob(
+            @Valid @RequestBody LaminaCargueMasivoRequestDTO cargueMasivo) {
+
+        CargaMasivaJobDTO job = cargaMasivaJobService.crear(cargueMasivo);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/laminas/masivo/jobs/" + job.id()))
+                .body(ApiResponseDTO.<CargaMasivaJobDTO>builder()
+                    .success(true)
+                    .message("Carga masiva encolada: " + job.total() + " láminas")
+                    .data(job)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+    }
+
+    // GET /api/laminas/masivo/jobs/{id}?cursor=&tamano= - Progreso del job y página de resultados por lámina
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<CargaMasivaJobDTO>> obtenerJob(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+
+        CargaMasivaJobDTO job = cargaMasivaJobService.obtener(id, cursor, tamano);
+
+        return ResponseEntity.ok(ApiResponseDTO.<CargaMasivaJobDTO>builder()
+                .success(true)
+                .message(String.format("Job %s: %d de %d láminas procesadas", job.estado(), job.procesadas(), job.total()))
+                .data(job)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    // DELETE /api/laminas/masivo/jobs/{id} - Cancelar el job (los bloques ya confirmados se mantienen)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<CargaMasivaJobDTO>> cancelarJob(@PathVariable String id) {
+        CargaMasivaJobDTO job = cargaMasivaJobService.cancelar(id);
+
+        return ResponseEntity.ok(ApiResponseDTO.<CargaMasivaJobDTO>builder()
+                .success(true)
+                .message("Cancelación solicitada. Estado actual: " + job.estado())
+                .data(job)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,35 @@
+package ipss.web2.examen.controllers.api;
+
+import ipss.web2.examen.dtos.ApiResponseDTO;
+import ipss.web2.examen.dtos.IntercambioCandidatoDTO;
+import ipss.web2.examen.services.IntercambioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Controlador REST para Intercambios entre álbumes - /api/albums/{albumId}/intercambios
+@RestController
+@RequestMapping("/api/albums/{albumId}/intercambios")
+@RequiredArgsConstructor
+public class IntercambioController {
+
+    private final IntercambioService intercambioService;
+
+    // GET /api/albums/{albumId}/intercambios?limite= - Álbumes con intercambio mutuo posible
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<List<IntercambioCandidatoDTO>>> obtenerCandidatos(
+            @PathVariable Long albumId,
+            @RequestParam(required = false) Integer limite) {
+        List<IntercambioCandidatoDTO> candidatos = intercambioService.buscarCandidatos(albumId, limite);
+
+        return ResponseEntity.ok(ApiResponseDTO.<List<IntercambioCandidatoDTO>>builder()
+                .success(true)
+                .message("Candidatos de intercambio encontrados: " + candidatos.size())
+                .data(candidatos)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
@@ -1,15 +1,23 @@
 package ipss.web2.examen.controllers.api;
 
+import ipss.web2.examen.dtos.AlbumVersionDTO;
 import ipss.web2.examen.dtos.ApiResponseDTO;
+import ipss.web2.examen.dtos.CatalogoCambiosDTO;
 import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
 import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
 import ipss.web2.examen.dtos.LaminasEstadoDTO;
+import ipss.web2.examen.dtos.LaminasResumenDTO;
+import ipss.web2.examen.dtos.ReconciliacionConteoDTO;
+import ipss.web2.examen.services.AlbumVersionService;
+import ipss.web2.examen.services.CatalogoService;
 import ipss.web2.examen.services.LaminaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +29,8 @@ import java.util.List;
 public class LaminaController {
     
     private final LaminaService laminaService;
+    private final CatalogoService catalogoService;
+    private final AlbumVersionService albumVersionService;
 
     
     //POST /api/albums/{albumId}/catalogo - Crear catálogo de láminas
@@ -29,7 +39,7 @@ public class LaminaController {
             @PathVariable Long albumId,
             @Valid @RequestBody List<LaminaCatalogoRequestDTO> catalogo) {
         
-        List<LaminaCatalogoResponseDTO> response = laminaService.crearCatalogo(albumId, catalogo);
+        List<LaminaCatalogoResponseDTO> response = catalogoService.crearCatalogo(albumId, catalogo);
         
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponseDTO.<List<LaminaCatalogoResponseDTO>>builder()
@@ -40,12 +50,52 @@ public class LaminaController {
                     .build());
     }
     
+    // PUT /api/albums/{albumId}/catalogo - Reemplazar el catálogo: agrega, modifica y da de baja
+    // las láminas que no vienen en la lista. Con simular=true solo informa las diferencias
+    @PutMapping
+    public ResponseEntity<ApiResponseDTO<CatalogoCambiosDTO>> reemplazarCatalogo(
+            @PathVariable Long albumId,
+            @RequestParam(defaultValue = "false") boolean simular,
+            @Valid @RequestBody List<LaminaCatalogoRequestDTO> catalogo) {
+        
+        return respuestaCambios(catalogoService.actualizarCatalogo(albumId, catalogo, true, simular));
+    }
+    
+    // PATCH /api/albums/{albumId}/catalogo - Agregar láminas al catálogo o modificarlas, sin bajas
+    @PatchMapping
+    public ResponseEntity<ApiResponseDTO<CatalogoCambiosDTO>> extenderCatalogo(
+            @PathVariable Long albumId,
+            @RequestParam(defaultValue = "false") boolean simular,
+            @Valid @RequestBody List<LaminaCatalogoRequestDTO> catalogo) {
+        
+        return respuestaCambios(catalogoService.actualizarCatalogo(albumId, catalogo, false, simular));
+    }
+    
+    private ResponseEntity<ApiResponseDTO<CatalogoCambiosDTO>> respuestaCambios(CatalogoCambiosDTO cambios) {
+        String mensaje = String.format("Catálogo %s versión %d: %d agregadas, %d modificadas, %d eliminadas, %d sin cambios",
+            cambios.simulado() ? "simulado sobre la" : "en", cambios.catalogoVersion(), cambios.agregadas().size(),
+            cambios.modificadas().size(), cambios.eliminadas().size(), cambios.sinCambios());
+        
+        return ResponseEntity.ok(ApiResponseDTO.<CatalogoCambiosDTO>builder()
+                .success(true)
+                .message(mensaje)
+                .data(cambios)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+    
     // GET /api/albums/{albumId}/catalogo - Obtener catálogo de láminas
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<LaminaCatalogoResponseDTO>>> obtenerCatalogo(@PathVariable Long albumId) {
+    public ResponseEntity<ApiResponseDTO<List<LaminaCatalogoResponseDTO>>> obtenerCatalogo(
+            @PathVariable Long albumId, WebRequest request) {
+        // 304 si el cliente ya tiene esta versión del álbum, sin consultar las tablas de láminas
+        AlbumVersionDTO version = albumVersionService.obtener(albumId);
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
         List<LaminaCatalogoResponseDTO> catalogo = laminaService.obtenerCatalogo(albumId);
         
-        return ResponseEntity.ok(ApiResponseDTO.<List<LaminaCatalogoResponseDTO>>builder()
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDTO.<List<LaminaCatalogoResponseDTO>>builder()
                 .success(true)
                 .message("Catálogo de láminas obtenido: " + catalogo.size() + " láminas disponibles")
                 .data(catalogo)
@@ -55,14 +105,52 @@ public class LaminaController {
     
     // GET /api/albums/{albumId}/catalogo/estado - Ver estado del álbum
     @GetMapping("/estado")
-    public ResponseEntity<ApiResponseDTO<LaminasEstadoDTO>> obtenerEstado(@PathVariable Long albumId) {
+    public ResponseEntity<ApiResponseDTO<LaminasEstadoDTO>> obtenerEstado(
+            @PathVariable Long albumId, WebRequest request) {
+        // 304 si el cliente ya tiene esta versión del álbum, sin consultar las tablas de láminas
+        AlbumVersionDTO version = albumVersionService.obtener(albumId);
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
         LaminasEstadoDTO estado = laminaService.obtenerEstado(albumId);
         
-        return ResponseEntity.ok(ApiResponseDTO.<LaminasEstadoDTO>builder()
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDTO.<LaminasEstadoDTO>builder()
                 .success(true)
                 .message("Estado del álbum obtenido")
                 .data(estado)
                 .timestamp(LocalDateTime.now())
                 .build());
     }
+    
+    // GET /api/albums/{albumId}/catalogo/estado/resumen - Totales del álbum desde los contadores
+    @GetMapping("/estado/resumen")
+    public ResponseEntity<ApiResponseDTO<LaminasResumenDTO>> obtenerResumen(
+            @PathVariable Long albumId, WebRequest request) {
+        // 304 si el cliente ya tiene esta versión del álbum, sin consultar las tablas de láminas
+        AlbumVersionDTO version = albumVersionService.obtener(albumId);
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
+        LaminasResumenDTO resumen = laminaService.obtenerResumen(albumId);
+        
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDTO.<LaminasResumenDTO>builder()
+                .success(true)
+                .message("Resumen del álbum obtenido")
+                .data(resumen)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+    
+    // POST /api/albums/{albumId}/catalogo/estado/reconciliar - Reconstruir contadores y reportar desvío
+    @PostMapping("/estado/reconciliar")
+    public ResponseEntity<ApiResponseDTO<ReconciliacionConteoDTO>> reconciliarConteo(@PathVariable Long albumId) {
+        ReconciliacionConteoDTO resultado = laminaService.reconciliarConteo(albumId);
+        
+        return ResponseEntity.ok(ApiResponseDTO.<ReconciliacionConteoDTO>builder()
+                .success(true)
+                .message("Contadores reconciliados: " + resultado.entradasConDesvio() + " entradas corregidas")
+                .data(resultado)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
 }
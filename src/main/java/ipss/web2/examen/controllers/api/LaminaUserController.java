@@ -6,13 +6,20 @@ import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
 import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
 import ipss.web2.examen.dtos.LaminaRequestDTO;
 import ipss.web2.examen.dtos.LaminaResponseDTO;
+import ipss.web2.examen.dtos.PaginaDTO;
+import ipss.web2.examen.services.CargaMasivaStreamService;
 import ipss.web2.examen.services.LaminaService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +31,7 @@ import java.util.List;
 public class LaminaUserController {
     
     private final LaminaService laminaService;
+    private final CargaMasivaStreamService cargaMasivaStreamService;
     
     // POST /api/laminas - Agregar lámina validando catálogo y detectando repetidas
     @PostMapping
@@ -71,6 +79,23 @@ public class LaminaUserController {
                     .build());
     }
     
+    // POST /api/laminas/masivo?albumId= (application/x-ndjson) - Carga masiva en streaming:
+    // una lámina por línea de entrada y un resultado por línea de salida a medida que se confirman
+    @PostMapping(value = "/masivo", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> agregarLaminasMasivoStream(
+            @RequestParam Long albumId,
+            HttpServletRequest request) throws IOException {
+        
+        cargaMasivaStreamService.validarDestino(albumId);
+        
+        InputStream entrada = request.getInputStream();
+        StreamingResponseBody cuerpo = salida -> cargaMasivaStreamService.procesar(albumId, entrada, salida);
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
+    }
+    
     // GET /api/laminas/{id} - Obtener lámina por ID
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<LaminaResponseDTO>> obtenerLaminaPorId(@PathVariable Long id) {
@@ -84,28 +109,33 @@ public class LaminaUserController {
                 .build());
     }
     
-    // GET /api/laminas - Obtener todas las láminas activas del sistema
+    // GET /api/laminas?cursor=&tamano= - Obtener láminas activas del sistema, paginadas por cursor
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<LaminaResponseDTO>>> obtenerTodasLasLaminas() {
-        List<LaminaResponseDTO> laminas = laminaService.obtenerTodasLasLaminas();
+    public ResponseEntity<ApiResponseDTO<PaginaDTO<LaminaResponseDTO>>> obtenerTodasLasLaminas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<LaminaResponseDTO> pagina = laminaService.obtenerTodasLasLaminas(cursor, tamano);
         
-        return ResponseEntity.ok(ApiResponseDTO.<List<LaminaResponseDTO>>builder()
+        return ResponseEntity.ok(ApiResponseDTO.<PaginaDTO<LaminaResponseDTO>>builder()
                 .success(true)
-                .message("Láminas obtenidas correctamente. Total: " + laminas.size())
-                .data(laminas)
+                .message("Láminas obtenidas correctamente. En esta página: " + pagina.tamano())
+                .data(pagina)
                 .timestamp(LocalDateTime.now())
                 .build());
     }
     
-    // GET /api/laminas/album/{albumId} - Obtener láminas poseídas de un álbum
+    // GET /api/laminas/album/{albumId}?cursor=&tamano= - Obtener láminas de un álbum, paginadas por cursor
     @GetMapping("/album/{albumId}")
-    public ResponseEntity<ApiResponseDTO<List<LaminaResponseDTO>>> obtenerLaminasPorAlbum(@PathVariable Long albumId) {
-        List<LaminaResponseDTO> laminas = laminaService.obtenerLaminasPorAlbum(albumId);
+    public ResponseEntity<ApiResponseDTO<PaginaDTO<LaminaResponseDTO>>> obtenerLaminasPorAlbum(
+            @PathVariable Long albumId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<LaminaResponseDTO> pagina = laminaService.obtenerLaminasPorAlbum(albumId, cursor, tamano);
         
-        return ResponseEntity.ok(ApiResponseDTO.<List<LaminaResponseDTO>>builder()
+        return ResponseEntity.ok(ApiResponseDTO.<PaginaDTO<LaminaResponseDTO>>builder()
                 .success(true)
-                .message("Láminas del álbum obtenidas correctamente. Total: " + laminas.size())
-                .data(laminas)
+                .message("Láminas del álbum obtenidas correctamente. En esta página: " + pagina.tamano())
+                .data(pagina)
                 .timestamp(LocalDateTime.now())
                 .build());
     }
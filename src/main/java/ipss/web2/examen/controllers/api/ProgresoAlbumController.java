@@ -0,0 +1,23 @@
+package ipss.web2.examen.controllers.api;
+
+import ipss.web2.examen.services.ProgresoAlbumService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Controlador SSE para el progreso en vivo de un álbum - /api/albums/{albumId}/catalogo/estado/eventos
+@RestController
+@RequestMapping("/api/albums/{albumId}/catalogo/estado/eventos")
+@RequiredArgsConstructor
+public class ProgresoAlbumController {
+
+    private final ProgresoAlbumService progresoAlbumService;
+
+    // GET /api/albums/{albumId}/catalogo/estado/eventos - Eventos "totales" (al conectar), "progreso"
+    // (láminas que cambiaron y totales) y "completado"; el id de cada evento es la versión del álbum
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribir(@PathVariable Long albumId) {
+        return progresoAlbumService.suscribir(albumId);
+    }
+}
@@ -0,0 +1,20 @@
+package ipss.web2.examen.dtos;
+
+// Versión de los datos de un álbum (o del listado de álbumes si albumId es null), usada como
+// ETag débil de las lecturas condicionales. No se envía Last-Modified: su resolución de un
+// segundo daría 304 a un cambio hecho en el mismo segundo que la lectura anterior
+public record AlbumVersionDTO(
+    Long albumId,
+    Long version
+) {
+    public AlbumVersionDTO(Long version) {
+        this(null, version);
+    }
+
+    // Débil: el mismo dato puede serializarse en distintos formatos (JSON, CBOR, ...)
+    public String etag() {
+        return albumId != null
+            ? "W/\"album-" + albumId + "-v" + version + "\""
+            : "W/\"albums-l" + version + "\"";
+    }
+}
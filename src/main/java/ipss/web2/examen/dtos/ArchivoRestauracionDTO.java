@@ -0,0 +1,9 @@
+package ipss.web2.examen.dtos;
+
+// DTO de respuesta de la restauración de un álbum archivado
+public record ArchivoRestauracionDTO(
+    Long albumId,
+    Integer laminasCatalogo,
+    Integer laminas,
+    ReconciliacionConteoDTO conteos
+) {}
@@ -0,0 +1,13 @@
+package ipss.web2.examen.dtos;
+
+// Resultado de GET /api/laminas/buscar. Con albumId: lámina del catálogo de ese álbum (catalogoId);
+// sin albumId: nombre distinto de todos los catálogos y cuántos álbumes lo tienen (albumes).
+// coincidencia: EXACTA, PREFIJO o APROXIMADA (distancia = ediciones respecto de la consulta)
+public record BusquedaLaminaDTO(
+    String nombre,
+    Long albumId,
+    Long catalogoId,
+    Integer albumes,
+    String coincidencia,
+    int distancia
+) {}
@@ -0,0 +1,21 @@
+package ipss.web2.examen.dtos;
+
+import java.time.LocalDateTime;
+
+// DTO de respuesta con el progreso de una carga masiva asíncrona y una página de sus resultados
+public record CargaMasivaJobDTO(
+    String id,
+    Long albumId,
+    // EN_COLA, EN_PROCESO, COMPLETADO, CANCELADO o FALLIDO
+    String estado,
+    Integer total,
+    Integer procesadas,
+    Integer exitosas,
+    Integer fallidas,
+    LocalDateTime creadoEn,
+    LocalDateTime iniciadoEn,
+    LocalDateTime finalizadoEn,
+    String error,
+    // Resultados por lámina en el orden de la solicitud (paginados por cursor)
+    PaginaDTO<LaminaCargueMasivoResponseDTO> resultados
+) {}
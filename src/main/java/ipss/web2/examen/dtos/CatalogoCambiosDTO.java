@@ -0,0 +1,16 @@
+package ipss.web2.examen.dtos;
+
+import java.util.List;
+
+
+// DTO de respuesta de la actualización de un catálogo: diferencias contra el catálogo vigente
+// y la versión de catálogo resultante (la misma si no hubo cambios o si la operación es simulada)
+public record CatalogoCambiosDTO(
+    Long albumId,
+    Long catalogoVersion,
+    boolean simulado,
+    List<LaminaCatalogoResponseDTO> agregadas,
+    List<LaminaCatalogoResponseDTO> modificadas,
+    List<String> eliminadas,
+    int sinCambios
+) {}
@@ -0,0 +1,14 @@
+package ipss.web2.examen.dtos;
+
+import java.util.List;
+
+// DTO de respuesta con un álbum que puede intercambiar láminas con el consultado
+public record IntercambioCandidatoDTO(
+    Long albumId,
+    // Intercambios uno a uno posibles: mínimo entre lo que se recibe y lo que se entrega
+    Integer intercambios,
+    // Láminas que le faltan al álbum consultado y el candidato tiene repetidas
+    List<String> recibe,
+    // Láminas repetidas del álbum consultado que le faltan al candidato
+    List<String> entrega
+) {}
@@ -7,5 +7,11 @@ public record LaminaCargueMasivoResponseDTO(
     Boolean esRepetida,
     Integer cantidadRepetidas,
     Boolean estaEnCatalogo,
-    String estado
-) {}
+    String estado,
+    // Bloque (transacción) en que se procesó la lámina; null si no llegó a ningún bloque
+    Integer bloque
+) {
+    public LaminaCargueMasivoResponseDTO conBloque(Integer bloque) {
+        return new LaminaCargueMasivoResponseDTO(laminaId, nombre, esRepetida, cantidadRepetidas, estaEnCatalogo, estado, bloque);
+    }
+}
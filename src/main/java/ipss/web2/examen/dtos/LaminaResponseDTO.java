@@ -32,4 +32,12 @@ public class LaminaResponseDTO {
     
     // Referencia al album (básico)
     private AlbumBasicResponseDTO album;
+    
+    // Constructor para proyecciones JPQL (los datos del álbum llegan como columnas planas)
+    public LaminaResponseDTO(Long id, String nombre, String imagen, LocalDate fechaLanzamiento, String tipoLamina,
+                             LocalDateTime createdAt, LocalDateTime updatedAt, Boolean active,
+                             Long albumId, String albumNombre, Integer albumYear) {
+        this(id, nombre, imagen, fechaLanzamiento, tipoLamina, createdAt, updatedAt, active,
+             new AlbumBasicResponseDTO(albumId, albumNombre, albumYear));
+    }
 }
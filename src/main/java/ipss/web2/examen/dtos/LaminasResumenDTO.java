@@ -0,0 +1,11 @@
+package ipss.web2.examen.dtos;
+
+// DTO de respuesta con los totales del álbum calculados desde los contadores materializados
+public record LaminasResumenDTO(
+    Long albumId,
+    Integer catalogoTotal,
+    Integer totalLaminas,
+    Integer laminasPoseidasDistintas,
+    Integer laminasFaltantesTotal,
+    Integer laminasRepetidastotal
+) {}
@@ -0,0 +1,12 @@
+package ipss.web2.examen.dtos;
+
+import java.util.List;
+
+// DTO genérico para una página de resultados paginados por cursor (keyset)
+public record PaginaDTO<T>(
+    List<T> items,
+    // Cursor opaco para pedir la página siguiente (null si no hay más)
+    String siguienteCursor,
+    Integer tamano,
+    Boolean hayMas
+) {}
@@ -0,0 +1,25 @@
+package ipss.web2.examen.dtos;
+
+import java.util.List;
+
+// Evento "progreso" de GET /api/albums/{albumId}/catalogo/estado/eventos: las láminas cuyo
+// contador cambió en una transacción y los totales del álbum después del commit.
+// version: versión de datos del álbum (id del evento SSE), para descartar eventos atrasados
+public record ProgresoAlbumDTO(
+    Long albumId,
+    Long version,
+    List<Cambio> cambios,
+    LaminasResumenDTO totales,
+    boolean completado
+) {
+
+    // cambio: NUEVA (primera copia), REPETIDA (pasó a tener dos copias), COPIA (una más de una
+    // ya repetida), QUITADA (una copia menos) o FALTANTE (se quitó la última copia)
+    public record Cambio(
+        Long catalogoId,
+        String nombre,
+        int cantidad,
+        int delta,
+        String cambio
+    ) {}
+}
@@ -0,0 +1,9 @@
+package ipss.web2.examen.dtos;
+
+// DTO de respuesta de la reconciliación de contadores de un álbum
+public record ReconciliacionConteoDTO(
+    Long albumId,
+    Integer entradasRevisadas,
+    Integer entradasConDesvio,
+    Integer desvioTotal
+) {}
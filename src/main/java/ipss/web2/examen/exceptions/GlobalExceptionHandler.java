@@ -2,7 +2,11 @@ package ipss.web2.examen.exceptions;
 
 import ipss.web2.examen.dtos.ApiResponseDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -132,6 +136,64 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
     
+    // Maneja el agotamiento del pool de conexiones (503): con hilos virtuales el pool
+    // de Hikari es el que limita la concurrencia y una espera vencida no es un error del cliente
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ApiResponseDTO<Object>> handleConnectionUnavailable(
+            RuntimeException ex, WebRequest request) {
+        
+        log.warn("Sin conexiones disponibles a la base de datos: {}", ex.getMessage());
+        
+        ApiResponseDTO<Object> response = ApiResponseDTO.builder()
+            .success(false)
+            .message("El servicio está saturado, intenta nuevamente en unos segundos")
+            .errorCode("DB_POOL_EXHAUSTED")
+            .timestamp(LocalDateTime.now())
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(response);
+    }
+    
+    // Maneja el límite de tasa por cliente (429) y el descarte por sobrecarga (503)
+    @ExceptionHandler(LimiteExcedidoException.class)
+    public ResponseEntity<ApiResponseDTO<Object>> handleLimiteExcedido(
+            LimiteExcedidoException ex, WebRequest request) {
+        
+        log.debug("Petición rechazada ({}): {}", ex.getErrorCode(), ex.getMessage());
+        
+        ApiResponseDTO<Object> response = ApiResponseDTO.builder()
+            .success(false)
+            .message(ex.getMessage())
+            .errorCode(ex.getErrorCode())
+            .timestamp(LocalDateTime.now())
+            .build();
+        
+        return ResponseEntity.status(ex.isSobrecarga() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+            .body(response);
+    }
+    
+    // Maneja el rechazo de un job de carga masiva por cola llena (503)
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponseDTO<Object>> handleTaskRejected(
+            TaskRejectedException ex, WebRequest request) {
+        
+        log.warn("Cola de cargas masivas llena: {}", ex.getMessage());
+        
+        ApiResponseDTO<Object> response = ApiResponseDTO.builder()
+            .success(false)
+            .message("Hay demasiadas cargas masivas en curso, intenta nuevamente más tarde")
+            .errorCode("JOB_QUEUE_FULL")
+            .timestamp(LocalDateTime.now())
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "30")
+            .body(response);
+    }
+    
     // Maneja excepciones de endpoint no encontrado (404)
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ApiResponseDTO<Object>> handleNoHandlerFound(
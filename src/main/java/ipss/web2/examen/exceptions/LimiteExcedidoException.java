@@ -0,0 +1,28 @@
+package ipss.web2.examen.exceptions;
+
+// Excepción para peticiones rechazadas por el límite de tasa (429) o por sobrecarga (503)
+public class LimiteExcedidoException extends RuntimeException {
+    
+    private final String errorCode;
+    private final long reintentarEnSegundos;
+    private final boolean sobrecarga;
+    
+    public LimiteExcedidoException(String message, String errorCode, long reintentarEnSegundos, boolean sobrecarga) {
+        super(message);
+        this.errorCode = errorCode;
+        this.reintentarEnSegundos = reintentarEnSegundos;
+        this.sobrecarga = sobrecarga;
+    }
+    
+    public String getErrorCode() {
+        return errorCode;
+    }
+    
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+    
+    public boolean isSobrecarga() {
+        return sobrecarga;
+    }
+}
@@ -0,0 +1,26 @@
+package ipss.web2.examen.jobs;
+
+import ipss.web2.examen.services.ArchivoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tarea programada que mueve a las tablas de archivo las filas dadas de baja hace más de
+// app.archivo.retencion (láminas, catálogo y álbumes), en lotes y con pausas entre ellos
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchivoCompactacionJob {
+
+    private final ArchivoService archivoService;
+
+    @Scheduled(cron = "${app.archivo.cron:0 30 3 * * *}")
+    public void compactar() {
+        try {
+            archivoService.compactar();
+        } catch (Exception e) {
+            log.error("Error en la compactación de filas dadas de baja", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ipss.web2.examen.jobs;
+
+import ipss.web2.examen.services.CargaMasivaJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tarea programada que libera de memoria los jobs de carga masiva ya finalizados
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CargaMasivaJobsLimpiezaJob {
+
+    private final CargaMasivaJobService cargaMasivaJobService;
+
+    @Scheduled(fixedDelayString = "${app.laminas.carga-masiva.jobs.limpieza:PT5M}")
+    public void purgarFinalizados() {
+        int purgados = cargaMasivaJobService.purgarFinalizados();
+        if (purgados > 0) {
+            log.info("Jobs de carga masiva purgados: {}", purgados);
+        }
+    }
+}
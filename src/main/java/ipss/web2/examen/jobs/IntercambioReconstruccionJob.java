@@ -0,0 +1,20 @@
+package ipss.web2.examen.jobs;
+
+import ipss.web2.examen.services.IntercambioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tarea programada que reconstruye el índice de intercambios si una actualización falló
+// o si ya pasó app.intercambios.reconstruccion desde la última reconstrucción
+@Component
+@RequiredArgsConstructor
+public class IntercambioReconstruccionJob {
+
+    private final IntercambioService intercambioService;
+
+    @Scheduled(fixedDelayString = "${app.intercambios.verificacion:PT1M}")
+    public void verificar() {
+        intercambioService.verificar();
+    }
+}
@@ -0,0 +1,44 @@
+package ipss.web2.examen.jobs;
+
+import ipss.web2.examen.dtos.ReconciliacionConteoDTO;
+import ipss.web2.examen.models.Album;
+import ipss.web2.examen.repositories.AlbumRepository;
+import ipss.web2.examen.services.LaminaConteoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tarea programada que reconstruye los contadores de láminas desde la tabla lamina
+// y reporta el desvío encontrado (una transacción por álbum)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LaminaConteoReconciliacionJob {
+
+    private final AlbumRepository albumRepository;
+    private final LaminaConteoService laminaConteoService;
+
+    @Scheduled(cron = "${app.laminas.conteo.reconciliacion.cron:0 0 4 * * *}")
+    public void reconciliarTodos() {
+        int albumes = 0;
+        int albumesConDesvio = 0;
+        int desvioTotal = 0;
+
+        for (Album album : albumRepository.findByActiveTrue()) {
+            try {
+                ReconciliacionConteoDTO resultado = laminaConteoService.reconciliar(album.getId());
+                albumes++;
+                if (resultado.entradasConDesvio() > 0) {
+                    albumesConDesvio++;
+                    desvioTotal += resultado.desvioTotal();
+                }
+            } catch (Exception e) {
+                log.error("Error reconciliando contadores del álbum {}", album.getId(), e);
+            }
+        }
+
+        log.info("Reconciliación de contadores: {} álbumes revisados, {} con desvío (desvío total {})",
+            albumes, albumesConDesvio, desvioTotal);
+    }
+}
@@ -0,0 +1,20 @@
+package ipss.web2.examen.jobs;
+
+import ipss.web2.examen.services.ProgresoAlbumHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tarea programada que envía un comentario SSE a cada suscriptor del progreso de álbumes:
+// evita que los proxies corten las conexiones inactivas y libera las que ya se cayeron
+@Component
+@RequiredArgsConstructor
+public class ProgresoLatidoJob {
+
+    private final ProgresoAlbumHub progresoAlbumHub;
+
+    @Scheduled(fixedDelayString = "${app.progreso.latido:PT30S}")
+    public void enviarLatido() {
+        progresoAlbumHub.enviarLatido();
+    }
+}
@@ -0,0 +1,22 @@
+package ipss.web2.examen.jobs;
+
+import ipss.web2.examen.config.ReplicasDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tarea programada que revisa la salud y el retraso de las réplicas de lectura,
+// expulsando o reincorporando cada una según el resultado
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.habilitado", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplicasVerificacionJob {
+
+    private final ReplicasDataSource replicasDataSource;
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.verificacion:PT10S}")
+    public void verificar() {
+        replicasDataSource.verificar();
+    }
+}
@@ -0,0 +1,85 @@
+package ipss.web2.examen.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+// Tiempos de arranque: app.arranque.primera_peticion (desde el inicio de la JVM hasta la primera
+// petición HTTP respondida) junto a application.started.time / application.ready.time de Spring Boot,
+// y al quedar lista la aplicación un reporte en el log con las fases y los beans más lentos.
+// El detalle completo por paso está en /actuator/startup (BufferingApplicationStartup en Application)
+@Slf4j
+@Component
+public class ArranqueMetricas {
+
+    private static final String PASO_BEAN = "spring.beans.instantiate";
+
+    private final ApplicationStartup applicationStartup;
+    private final int pasosReporte;
+    private final AtomicLong primeraPeticionMs = new AtomicLong(-1);
+
+    public ArranqueMetricas(ApplicationStartup applicationStartup, MeterRegistry meterRegistry,
+                            @Value("${app.arranque.reporte.pasos:15}") int pasosReporte) {
+        this.applicationStartup = applicationStartup;
+        this.pasosReporte = pasosReporte;
+        TimeGauge.builder("app.arranque.primera_peticion", primeraPeticionMs, TimeUnit.MILLISECONDS,
+                ms -> ms.get() < 0 ? Double.NaN : ms.get())
+            .description("Tiempo desde el inicio de la JVM hasta la primera petición HTTP respondida")
+            .register(meterRegistry);
+    }
+
+    @EventListener
+    public void alResponderPeticion(ServletRequestHandledEvent evento) {
+        if (primeraPeticionMs.get() < 0
+                && primeraPeticionMs.compareAndSet(-1, ManagementFactory.getRuntimeMXBean().getUptime())) {
+            log.info("⏱️ Primera petición respondida a los {} ms del inicio de la JVM", primeraPeticionMs.get());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportar(ApplicationReadyEvent evento) {
+        if (pasosReporte <= 0 || !(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+
+        List<StartupTimeline.TimelineEvent> pasos = buffering.getBufferedTimeline().getEvents();
+        log.info("⏱️ Arranque listo en {} ms ({} pasos registrados). Fases:",
+            evento.getTimeTaken() != null ? evento.getTimeTaken().toMillis() : -1, pasos.size());
+        pasos.stream()
+            .filter(paso -> !PASO_BEAN.equals(paso.getStartupStep().getName()))
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(pasosReporte)
+            .forEach(paso -> log.info("   {} ms  {} {}", paso.getDuration().toMillis(),
+                paso.getStartupStep().getName(), etiquetas(paso.getStartupStep())));
+
+        log.info("⏱️ Beans más lentos (incluye sus dependencias):");
+        pasos.stream()
+            .filter(paso -> PASO_BEAN.equals(paso.getStartupStep().getName()))
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(pasosReporte)
+            .forEach(paso -> log.info("   {} ms  {}", paso.getDuration().toMillis(), etiquetas(paso.getStartupStep())));
+    }
+
+    private static String etiquetas(StartupStep paso) {
+        return StreamSupport.stream(paso.getTags().spliterator(), false)
+            .map(tag -> tag.getKey() + "=" + tag.getValue())
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,65 @@
+package ipss.web2.examen.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+
+// Métricas de dominio de láminas (Micrometer). El álbum se etiqueta por bucket
+// (albumId módulo app.metricas.album-buckets) para acotar la cardinalidad
+@Component
+public class LaminaMetricas {
+
+    // Resultado de cada lámina en agregarLamina y en la carga masiva
+    public static final String ACEPTADA = "aceptada";
+    public static final String REPETIDA = "repetida";
+    public static final String RECHAZADA = "rechazada";
+
+    private final MeterRegistry meterRegistry;
+    private final int bucketsAlbum;
+
+    public LaminaMetricas(MeterRegistry meterRegistry, @Value("${app.metricas.album-buckets:8}") int bucketsAlbum) {
+        this.meterRegistry = meterRegistry;
+        this.bucketsAlbum = Math.max(1, bucketsAlbum);
+    }
+
+    // Sumar láminas agregadas o rechazadas con un mismo resultado
+    public void registrarLaminas(Long albumId, String resultado, int cantidad) {
+        if (cantidad <= 0) {
+            return;
+        }
+        Counter.builder("app.laminas.agregadas")
+            .description("Láminas procesadas por resultado (aceptada, repetida, rechazada)")
+            .tag("album.bucket", bucket(albumId))
+            .tag("resultado", resultado)
+            .register(meterRegistry)
+            .increment(cantidad);
+    }
+
+    // Registrar el tamaño de una carga masiva (modo json, ndjson o job)
+    public void registrarCargaMasiva(Long albumId, String modo, long tamano) {
+        DistributionSummary.builder("app.laminas.carga_masiva.tamano")
+            .description("Cantidad de láminas por carga masiva")
+            .baseUnit("laminas")
+            .tag("album.bucket", bucket(albumId))
+            .tag("modo", modo)
+            .register(meterRegistry)
+            .record(tamano);
+    }
+
+    // Timer de una fase de la carga de láminas (catalogo, copias, insercion, conteo, serializacion)
+    public Timer fase(String fase, Long albumId) {
+        return Timer.builder("app.laminas.fase")
+            .description("Duración de cada fase de la carga de láminas")
+            .tag("fase", fase)
+            .tag("album.bucket", bucket(albumId))
+            .register(meterRegistry);
+    }
+
+    public String bucket(Long albumId) {
+        return albumId == null ? "ninguno" : String.valueOf(Math.floorMod(albumId, bucketsAlbum));
+    }
+}
@@ -0,0 +1,84 @@
+package ipss.web2.examen.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
+import ipss.web2.examen.exceptions.InvalidOperationException;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.models.Album;
+import ipss.web2.examen.services.AlbumService;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+
+// Timer app.servicio para cada método público de LaminaService y AlbumService, etiquetado
+// por clase, método, bucket de álbum y resultado. Envuelve a @Transactional, así que
+// incluye el commit; la diferencia con http.server.requests es la serialización
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServicioMetricasAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final LaminaMetricas laminaMetricas;
+
+    @Around("execution(public * ipss.web2.examen.services.LaminaService.*(..)) || " +
+            "execution(public * ipss.web2.examen.services.AlbumService.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        String resultado = "exito";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            resultado = resultado(ex);
+            throw ex;
+        } finally {
+            muestra.stop(Timer.builder("app.servicio")
+                .description("Duración de los métodos de servicio")
+                .tag("clase", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("metodo", joinPoint.getSignature().getName())
+                .tag("album.bucket", laminaMetricas.bucket(albumId(joinPoint)))
+                .tag("resultado", resultado)
+                .register(meterRegistry));
+        }
+    }
+
+    // Álbum de la llamada: parámetro albumId, entidad Album, request masivo o el id de AlbumService
+    private Long albumId(ProceedingJoinPoint joinPoint) {
+        String[] nombres = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] argumentos = joinPoint.getArgs();
+        boolean esAlbumService = joinPoint.getSignature().getDeclaringType() == AlbumService.class;
+
+        for (int i = 0; i < argumentos.length; i++) {
+            if (argumentos[i] instanceof Album album) {
+                return album.getId();
+            }
+            if (argumentos[i] instanceof LaminaCargueMasivoRequestDTO cargueMasivo) {
+                return cargueMasivo.albumId();
+            }
+            String nombre = nombres != null ? nombres[i] : "";
+            if (argumentos[i] instanceof Long id
+                    && ("albumId".equals(nombre) || (esAlbumService && "id".equals(nombre)))) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private static String resultado(Throwable ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return "no_encontrado";
+        }
+        if (ex instanceof InvalidOperationException) {
+            return "invalido";
+        }
+        return "error";
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,6 +17,8 @@ import java.util.List;
 
 // Modelo de entidad para Álbum
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "album")
 @Table(name = "album")
 @Data
 @Builder
@@ -47,6 +51,20 @@ public class Album {
     @Column(name = "is_active")
     private Boolean active = true;
 
+    // Versión de los datos del álbum para los ETag; solo la modifica AlbumRepository.incrementarVersion.
+    // En la caché de segundo nivel puede quedar atrasada: se lee siempre con findVersionById
+    @Builder.Default
+    @Column(name = "datos_version", nullable = false, updatable = false)
+    private Long datosVersion = 0L;
+
+    @Column(name = "datos_actualizados_en", updatable = false)
+    private LocalDateTime datosActualizadosEn;
+
+    // Versión del catálogo; solo la modifica AlbumRepository.incrementarVersionCatalogo
+    @Builder.Default
+    @Column(name = "catalogo_version", nullable = false, updatable = false)
+    private Long catalogoVersion = 0L;
+
     @OneToMany(mappedBy = "album", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Lamina> laminas;
 
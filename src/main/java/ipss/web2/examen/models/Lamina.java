@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 
 // Modelo de entidad para Lámina
 @Entity
-@Table(name = "lamina")
+@Table(name = "lamina", indexes = {
+    @Index(name = "idx_lamina_album_activo_nombre", columnList = "album_id, is_active, nombre"),
+    @Index(name = "idx_lamina_activo_id", columnList = "is_active, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,7 +49,7 @@ public class Lamina {
     @Column(name = "is_active")
     private Boolean active = true;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "album_id", nullable = false)
     private Album album;
 
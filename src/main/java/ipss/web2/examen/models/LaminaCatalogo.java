@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,8 +16,12 @@ import java.time.LocalDateTime;
 
 // Modelo de entidad para Lámina de Catálogo
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lamina_catalogo")
 @Table(name = "lamina_catalogo", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"album_id", "nombre"})
+}, indexes = {
+    @Index(name = "idx_lamina_catalogo_album_activo", columnList = "album_id, is_active")
 })
 @Data
 @NoArgsConstructor
@@ -49,7 +55,7 @@ public class LaminaCatalogo {
     @Column(name = "is_active")
     private Boolean active = true;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "album_id", nullable = false)
     private Album album;
 }
@@ -0,0 +1,35 @@
+package ipss.web2.examen.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+// Conteo materializado de copias activas por álbum y lámina de catálogo
+@Entity
+@Table(name = "lamina_conteo", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"album_id", "lamina_catalogo_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaminaConteo {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "album_id", nullable = false)
+    private Long albumId;
+
+    @Column(name = "lamina_catalogo_id", nullable = false)
+    private Long catalogoId;
+
+    @Column(name = "cantidad", nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
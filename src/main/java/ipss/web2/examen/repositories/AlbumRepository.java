@@ -1,14 +1,69 @@
 package ipss.web2.examen.repositories;
 
+import ipss.web2.examen.dtos.AlbumResponseDTO;
+import ipss.web2.examen.dtos.AlbumVersionDTO;
 import ipss.web2.examen.models.Album;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 
 // Repositorio para la entidad Álbum
 @Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
     List<Album> findByActiveTrue();
+
+    @Query("SELECT COALESCE(MAX(a.id), 0L) FROM Album a")
+    long obtenerMaxId();
+
+    // Lecturas de solo lectura proyectadas directo a DTO
+    String PROYECCION_RESPONSE = "SELECT new ipss.web2.examen.dtos.AlbumResponseDTO(" +
+        "a.id, a.nombre, a.year, a.descripcion, a.createdAt, a.updatedAt) FROM Album a ";
+
+    @Query(PROYECCION_RESPONSE + "WHERE a.id = :id")
+    Optional<AlbumResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(PROYECCION_RESPONSE + "WHERE a.active = true ORDER BY a.id")
+    List<AlbumResponseDTO> findResponseByActiveTrue();
+
+    // Versión de datos del álbum (lecturas condicionales sin tocar las tablas de láminas)
+    @Query("SELECT new ipss.web2.examen.dtos.AlbumVersionDTO(a.id, a.datosVersion) " +
+           "FROM Album a WHERE a.id = :id")
+    Optional<AlbumVersionDTO> findVersionById(@Param("id") Long id);
+
+    // Versión del listado (contador de album_listado_version, ver AlbumVersionService)
+    @Query(value = "SELECT version FROM album_listado_version WHERE id = 1", nativeQuery = true)
+    long obtenerVersionListado();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "album_listado_version"))
+    @Query(value = "UPDATE album_listado_version SET version = version + 1 WHERE id = 1", nativeQuery = true)
+    int incrementarVersionListado();
+
+    // El espacio propio evita que Hibernate vacíe la caché de segundo nivel en cada incremento
+    // (un UPDATE nativo sin espacios invalida todas las regiones)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "album_datos_version"))
+    @Query(value = "UPDATE album SET datos_version = datos_version + 1, " +
+                   "datos_actualizados_en = CURRENT_TIMESTAMP(6) WHERE id = :albumId",
+           nativeQuery = true)
+    int incrementarVersion(@Param("albumId") Long albumId);
+
+    // Versión del catálogo del álbum, bloqueando la fila hasta el fin de la transacción:
+    // las actualizaciones de catálogo de un mismo álbum se aplican de a una
+    @Query(value = "SELECT catalogo_version FROM album WHERE id = :albumId FOR UPDATE", nativeQuery = true)
+    Optional<Long> bloquearVersionCatalogo(@Param("albumId") Long albumId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "album_catalogo_version"))
+    @Query(value = "UPDATE album SET catalogo_version = catalogo_version + 1 WHERE id = :albumId", nativeQuery = true)
+    int incrementarVersionCatalogo(@Param("albumId") Long albumId);
 }
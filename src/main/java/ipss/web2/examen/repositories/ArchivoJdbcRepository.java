@@ -0,0 +1,186 @@
+package ipss.web2.examen.repositories;
+
+import ipss.web2.examen.models.Album;
+import ipss.web2.examen.models.LaminaCatalogo;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+// Repositorio JDBC del archivo de filas dadas de baja (ver ArchivoService). Cada movimiento es
+// INSERT ... SELECT hacia la tabla de archivo y DELETE de la tabla caliente, por lista de IDs
+// bloqueados con SELECT ... FOR UPDATE en la misma transacción. Album y LaminaCatalogo están en
+// la caché de segundo nivel: las filas movidas se desalojan, también al confirmar
+@SuppressWarnings("null")
+@Repository
+@RequiredArgsConstructor
+public class ArchivoJdbcRepository {
+
+    private static final String REGION_CONSULTAS = "consultas_catalogo";
+
+    private static final String COLUMNAS_LAMINA =
+        "id, nombre, imagen, fecha_lanzamiento, tipo_lamina, created_at, updated_at, is_active, album_id";
+
+    private static final String COLUMNAS_ALBUM =
+        "id, nombre, year, descripcion, created_at, updated_at, is_active, datos_version, datos_actualizados_en, catalogo_version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // ==================== SELECCIÓN (bloquea las filas devueltas) ====================
+
+    // Láminas dadas de baja antes de 'limite'
+    public List<Long> bloquearLaminasVencidas(LocalDateTime limite, int lote) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM lamina WHERE is_active = FALSE AND updated_at < ? ORDER BY updated_at LIMIT ? FOR UPDATE",
+            Long.class, Timestamp.valueOf(limite), lote);
+    }
+
+    // Entradas de catálogo dadas de baja antes de 'limite'
+    public List<Long> bloquearCatalogoVencido(LocalDateTime limite, int lote) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM lamina_catalogo WHERE is_active = FALSE AND updated_at < ? ORDER BY updated_at LIMIT ? FOR UPDATE",
+            Long.class, Timestamp.valueOf(limite), lote);
+    }
+
+    // Láminas de un álbum (activas o no), para archivarlas junto con él
+    public List<Long> bloquearLaminasDeAlbum(Long albumId, int lote) {
+        return jdbcTemplate.queryForList("SELECT id FROM lamina WHERE album_id = ? LIMIT ? FOR UPDATE",
+            Long.class, albumId, lote);
+    }
+
+    public List<Long> bloquearCatalogoDeAlbum(Long albumId, int lote) {
+        return jdbcTemplate.queryForList("SELECT id FROM lamina_catalogo WHERE album_id = ? LIMIT ? FOR UPDATE",
+            Long.class, albumId, lote);
+    }
+
+    // Álbumes dados de baja antes de 'limite' con ID mayor que 'desdeId' (sin bloquear: se
+    // archivan de a uno con archivarAlbum, que vuelve a comprobar la condición)
+    public List<Long> albumesVencidos(LocalDateTime limite, long desdeId, int lote) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM album WHERE is_active = FALSE AND updated_at < ? AND id > ? ORDER BY id LIMIT ?",
+            Long.class, Timestamp.valueOf(limite), desdeId, lote);
+    }
+
+    // ==================== ARCHIVO ====================
+
+    public int archivarLaminas(List<Long> ids, LocalDateTime ahora) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String enIds = enIds(ids);
+        jdbcTemplate.update("INSERT INTO lamina_archivo (" + COLUMNAS_LAMINA + ", archivado_en) " +
+            "SELECT " + COLUMNAS_LAMINA + ", ? FROM lamina WHERE id IN " + enIds, parametros(ahora, ids));
+        return jdbcTemplate.update("DELETE FROM lamina WHERE id IN " + enIds, ids.toArray());
+    }
+
+    // Las entradas archivadas dejan de contar: se borran sus contadores (restaurar los reconstruye)
+    public int archivarCatalogo(List<Long> ids, LocalDateTime ahora) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String enIds = enIds(ids);
+        jdbcTemplate.update("DELETE FROM lamina_conteo WHERE lamina_catalogo_id IN " + enIds, ids.toArray());
+        jdbcTemplate.update("INSERT INTO lamina_catalogo_archivo (" + COLUMNAS_LAMINA + ", archivado_en) " +
+            "SELECT " + COLUMNAS_LAMINA + ", ? FROM lamina_catalogo WHERE id IN " + enIds, parametros(ahora, ids));
+        int archivadas = jdbcTemplate.update("DELETE FROM lamina_catalogo WHERE id IN " + enIds, ids.toArray());
+        desalojar(LaminaCatalogo.class, ids);
+        return archivadas;
+    }
+
+    // Archivar el álbum si sigue dado de baja antes de 'limite' y ya no tiene láminas ni catálogo
+    public boolean archivarAlbum(Long albumId, LocalDateTime limite, LocalDateTime ahora) {
+        List<Long> bloqueado = jdbcTemplate.queryForList(
+            "SELECT id FROM album WHERE id = ? AND is_active = FALSE AND updated_at < ? FOR UPDATE",
+            Long.class, albumId, Timestamp.valueOf(limite));
+        if (bloqueado.isEmpty()
+                || !bloquearLaminasDeAlbum(albumId, 1).isEmpty()
+                || !bloquearCatalogoDeAlbum(albumId, 1).isEmpty()) {
+            return false;
+        }
+
+        jdbcTemplate.update("DELETE FROM lamina_conteo WHERE album_id = ?", albumId);
+        jdbcTemplate.update("INSERT INTO album_archivo (" + COLUMNAS_ALBUM + ", archivado_en) " +
+            "SELECT " + COLUMNAS_ALBUM + ", ? FROM album WHERE id = ?", Timestamp.valueOf(ahora), albumId);
+        jdbcTemplate.update("DELETE FROM album WHERE id = ?", albumId);
+        desalojar(Album.class, List.of(albumId));
+        return true;
+    }
+
+    // ==================== RESTAURACIÓN ====================
+
+    // Devolver el álbum archivado a la tabla album, activo. false si no está en el archivo
+    public boolean restaurarAlbum(Long albumId, LocalDateTime ahora) {
+        int restaurados = jdbcTemplate.update("INSERT INTO album (" + COLUMNAS_ALBUM + ") " +
+            "SELECT " + COLUMNAS_ALBUM + " FROM album_archivo WHERE id = ?", albumId);
+        if (restaurados == 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM album_archivo WHERE id = ?", albumId);
+        jdbcTemplate.update("UPDATE album SET is_active = TRUE, updated_at = ? WHERE id = ?",
+            Timestamp.valueOf(ahora), albumId);
+        desalojar(Album.class, List.of(albumId));
+        return true;
+    }
+
+    // Devolver el catálogo archivado del álbum. Primero las entradas activas: si una baja archivada
+    // comparte nombre con una entrada vigente (el nombre es único por álbum), queda en el archivo
+    public int restaurarCatalogo(Long albumId) {
+        String insertar = "INSERT INTO lamina_catalogo (" + COLUMNAS_LAMINA + ") " +
+            "SELECT " + COLUMNAS_LAMINA + " FROM lamina_catalogo_archivo x WHERE x.album_id = ? AND x.is_active = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM lamina_catalogo c WHERE c.album_id = x.album_id AND c.nombre = x.nombre)";
+        int restauradas = jdbcTemplate.update(insertar, albumId, true)
+            + jdbcTemplate.update(insertar, albumId, false);
+        jdbcTemplate.update("DELETE FROM lamina_catalogo_archivo WHERE album_id = ? " +
+            "AND id IN (SELECT id FROM lamina_catalogo WHERE album_id = ?)", albumId, albumId);
+        desalojar(LaminaCatalogo.class, List.of());
+        return restauradas;
+    }
+
+    public int restaurarLaminas(Long albumId) {
+        int restauradas = jdbcTemplate.update("INSERT INTO lamina (" + COLUMNAS_LAMINA + ") " +
+            "SELECT " + COLUMNAS_LAMINA + " FROM lamina_archivo WHERE album_id = ?", albumId);
+        jdbcTemplate.update("DELETE FROM lamina_archivo WHERE album_id = ?", albumId);
+        return restauradas;
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static String enIds(List<Long> ids) {
+        return "(" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+    }
+
+    private static Object[] parametros(LocalDateTime ahora, List<Long> ids) {
+        List<Object> parametros = new ArrayList<>(ids.size() + 1);
+        parametros.add(Timestamp.valueOf(ahora));
+        parametros.addAll(ids);
+        return parametros.toArray();
+    }
+
+    private void desalojar(Class<?> entidad, List<Long> ids) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Runnable desalojo = () -> {
+            ids.forEach(id -> cache.evictEntityData(entidad, id));
+            cache.evictQueryRegion(REGION_CONSULTAS);
+        };
+        desalojo.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    desalojo.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ipss.web2.examen.repositories;
+
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.models.LaminaCatalogo;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+
+// Repositorio JDBC del catálogo para aplicar altas, cambios y bajas en lotes (CatalogoService).
+// Estas escrituras no pasan por Hibernate: las entradas tocadas y las consultas de catálogo
+// se desalojan de la caché de segundo nivel, ahora y de nuevo al confirmar la transacción
+@SuppressWarnings("null")
+@Repository
+@RequiredArgsConstructor
+public class LaminaCatalogoJdbcRepository {
+
+    private static final String REGION_CONSULTAS = "consultas_catalogo";
+
+    private static final String CATALOGO_ALBUM =
+        "SELECT id, nombre, imagen, fecha_lanzamiento, tipo_lamina, created_at, is_active " +
+        "FROM lamina_catalogo WHERE album_id = ?";
+
+    private static final String INSERT_CATALOGO =
+        "INSERT INTO lamina_catalogo (nombre, imagen, fecha_lanzamiento, tipo_lamina, created_at, updated_at, is_active, album_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?)";
+
+    // Reactivar o modificar una entrada: el nombre puede cambiar solo en mayúsculas/minúsculas
+    private static final String UPDATE_CATALOGO =
+        "UPDATE lamina_catalogo SET nombre = ?, imagen = ?, fecha_lanzamiento = ?, tipo_lamina = ?, " +
+        "updated_at = ?, is_active = TRUE WHERE id = ?";
+
+    private static final String DESACTIVAR_CATALOGO =
+        "UPDATE lamina_catalogo SET is_active = FALSE, updated_at = ? WHERE id = ?";
+
+    // Entrada del catálogo tal como está en la base, activa o no (el nombre es único por álbum)
+    public record Fila(Long id, String nombre, String imagen, LocalDate fechaLanzamiento, String tipoLamina,
+                       LocalDateTime createdAt, boolean activa) {}
+
+    // Cambio sobre una entrada existente
+    public record Actualizacion(Long id, LaminaCatalogoRequestDTO datos) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.laminas.carga-masiva.tamano-lote-jdbc:500}")
+    private int tamanoLote;
+
+    // Catálogo completo del álbum, incluidas las entradas desactivadas
+    public List<Fila> obtenerCatalogo(Long albumId) {
+        return jdbcTemplate.query(CATALOGO_ALBUM, (rs, i) -> new Fila(
+            rs.getLong("id"),
+            rs.getString("nombre"),
+            rs.getString("imagen"),
+            rs.getObject("fecha_lanzamiento", LocalDate.class),
+            rs.getString("tipo_lamina"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getBoolean("is_active")), albumId);
+    }
+
+    // Insertar las entradas nuevas en lotes; devuelve los IDs generados en el mismo orden
+    public List<Long> insertarEnLote(Long albumId, List<LaminaCatalogoRequestDTO> nuevas, LocalDateTime ahora) {
+        List<Long> ids = new ArrayList<>(nuevas.size());
+        if (nuevas.isEmpty()) {
+            return ids;
+        }
+        for (int desde = 0; desde < nuevas.size(); desde += tamanoLote) {
+            List<LaminaCatalogoRequestDTO> lote = nuevas.subList(desde, Math.min(desde + tamanoLote, nuevas.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_CATALOGO, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        LaminaCatalogoRequestDTO dto = lote.get(i);
+                        ps.setString(1, dto.nombre());
+                        ps.setString(2, dto.imagen());
+                        ps.setDate(3, Date.valueOf(dto.fechaLanzamiento()));
+                        ps.setString(4, dto.tipoLamina());
+                        ps.setTimestamp(5, Timestamp.valueOf(ahora));
+                        ps.setTimestamp(6, Timestamp.valueOf(ahora));
+                        ps.setLong(7, albumId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lote.size();
+                    }
+                },
+                keyHolder);
+
+            for (Map<String, Object> clave : keyHolder.getKeyList()) {
+                ids.add(((Number) clave.values().iterator().next()).longValue());
+            }
+        }
+        desalojar(List.of());
+        return ids;
+    }
+
+    // Modificar o reactivar entradas existentes en un solo lote
+    public void actualizarEnLote(List<Actualizacion> cambios, LocalDateTime ahora) {
+        if (cambios.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CATALOGO, cambios, tamanoLote, (ps, cambio) -> {
+            LaminaCatalogoRequestDTO dto = cambio.datos();
+            ps.setString(1, dto.nombre());
+            ps.setString(2, dto.imagen());
+            ps.setDate(3, Date.valueOf(dto.fechaLanzamiento()));
+            ps.setString(4, dto.tipoLamina());
+            ps.setTimestamp(5, Timestamp.valueOf(ahora));
+            ps.setLong(6, cambio.id());
+        });
+        desalojar(cambios.stream().map(Actualizacion::id).toList());
+    }
+
+    // Desactivar entradas (las láminas y contadores que las referencian se conservan)
+    public void desactivarEnLote(Collection<Long> ids, LocalDateTime ahora) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DESACTIVAR_CATALOGO, ids, tamanoLote, (ps, id) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(ahora));
+            ps.setLong(2, id);
+        });
+        desalojar(ids);
+    }
+
+    private void desalojar(Collection<Long> ids) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Runnable desalojo = () -> {
+            ids.forEach(id -> cache.evictEntityData(LaminaCatalogo.class, id));
+            cache.evictQueryRegion(REGION_CONSULTAS);
+        };
+        desalojo.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    desalojo.run();
+                }
+            });
+        }
+    }
+}
@@ -1,16 +1,52 @@
 package ipss.web2.examen.repositories;
 
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
 import ipss.web2.examen.models.Album;
 import ipss.web2.examen.models.LaminaCatalogo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 
-// Repositorio para la entidad Lámina de Catálogo
+// Repositorio para la entidad Lámina de Catálogo.
+// Las consultas de catálogo por álbum usan la caché de consultas de Hibernate (región
+// consultas_catalogo), que se invalida al guardar cualquier LaminaCatalogo
 public interface LaminaCatalogoRepository extends JpaRepository<LaminaCatalogo, Long> {
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas_catalogo")
+    })
     List<LaminaCatalogo> findByAlbumAndActiveTrue(Album album);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas_catalogo")
+    })
+    // Explícita: la consulta derivada unía album y filtraba por a.id, sin usar (album_id, is_active)
+    @Query("SELECT c FROM LaminaCatalogo c WHERE c.album.id = :albumId AND c.active = true")
+    List<LaminaCatalogo> findByAlbumIdAndActiveTrue(@Param("albumId") Long albumId);
+
     Optional<LaminaCatalogo> findByAlbumAndNombreAndActiveTrue(Album album, String nombre);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas_catalogo")
+    })
     long countByAlbumAndActiveTrue(Album album);
+
+    // Catálogo activo proyectado directo a DTO, sin cargar el álbum
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas_catalogo")
+    })
+    @Query("SELECT new ipss.web2.examen.dtos.LaminaCatalogoResponseDTO(" +
+           "c.id, c.nombre, c.imagen, c.fechaLanzamiento, c.tipoLamina, c.createdAt, c.updatedAt, c.active) " +
+           "FROM LaminaCatalogo c WHERE c.album.id = :albumId AND c.active = true ORDER BY c.id")
+    List<LaminaCatalogoResponseDTO> findResponseByAlbumIdAndActiveTrue(@Param("albumId") Long albumId);
 }
@@ -0,0 +1,94 @@
+package ipss.web2.examen.repositories;
+
+import ipss.web2.examen.models.LaminaConteo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+
+// Repositorio para los contadores materializados de láminas por álbum
+@Repository
+public interface LaminaConteoRepository extends JpaRepository<LaminaConteo, Long> {
+    List<LaminaConteo> findByAlbumId(Long albumId);
+
+    // Contadores del álbum bloqueados hasta el fin de la transacción (reconciliación). El bloqueo
+    // por rango de (album_id, lamina_catalogo_id) detiene también la creación de contadores nuevos
+    @Query(value = "SELECT * FROM lamina_conteo WHERE album_id = :albumId FOR UPDATE", nativeQuery = true)
+    List<LaminaConteo> bloquearPorAlbumId(@Param("albumId") Long albumId);
+
+    // Sumar (o restar) copias al contador, creándolo si aún no existe.
+    // Con el espacio declarado, Hibernate solo invalida lo que depende de lamina_conteo
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lamina_conteo"))
+    @Query(value = "INSERT INTO lamina_conteo (album_id, lamina_catalogo_id, cantidad, updated_at) " +
+                   "VALUES (:albumId, :catalogoId, GREATEST(:delta, 0), CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE cantidad = GREATEST(cantidad + :delta, 0), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int sumarCantidad(@Param("albumId") Long albumId, @Param("catalogoId") Long catalogoId, @Param("delta") int delta);
+
+    // Fijar el valor exacto del contador (reconciliación)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lamina_conteo"))
+    @Query(value = "INSERT INTO lamina_conteo (album_id, lamina_catalogo_id, cantidad, updated_at) " +
+                   "VALUES (:albumId, :catalogoId, :cantidad, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE cantidad = :cantidad, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int fijarCantidad(@Param("albumId") Long albumId, @Param("catalogoId") Long catalogoId, @Param("cantidad") int cantidad);
+
+    // Totales del álbum leídos solo de catálogo + contadores (sin recorrer la tabla lamina)
+    @Query(value = "SELECT COUNT(*) AS catalogoTotal, " +
+                   "COALESCE(SUM(COALESCE(c.cantidad, 0)), 0) AS totalLaminas, " +
+                   "COALESCE(SUM(CASE WHEN c.cantidad > 0 THEN 1 ELSE 0 END), 0) AS poseidasDistintas, " +
+                   "COALESCE(SUM(CASE WHEN c.cantidad > 1 THEN c.cantidad ELSE 0 END), 0) AS repetidasTotal " +
+                   "FROM lamina_catalogo cat " +
+                   "LEFT JOIN lamina_conteo c ON c.lamina_catalogo_id = cat.id " +
+                   "WHERE cat.album_id = :albumId AND cat.is_active = TRUE",
+           nativeQuery = true)
+    ResumenConteo obtenerResumen(@Param("albumId") Long albumId);
+
+    // Conteo real de copias activas por lámina de catálogo, calculado desde la tabla lamina
+    @Query(value = "SELECT cat.id AS catalogoId, COUNT(l.id) AS cantidad " +
+                   "FROM lamina_catalogo cat " +
+                   "LEFT JOIN lamina l ON l.album_id = cat.album_id AND l.nombre = cat.nombre AND l.is_active = TRUE " +
+                   "WHERE cat.album_id = :albumId " +
+                   "GROUP BY cat.id",
+           nativeQuery = true)
+    List<ConteoReal> calcularConteoReal(@Param("albumId") Long albumId);
+
+    // Copias actuales de algunas láminas del catálogo del álbum (progreso en vivo por SSE)
+    @Query(value = "SELECT cat.id AS catalogoId, cat.nombre AS nombre, COALESCE(c.cantidad, 0) AS cantidad " +
+                   "FROM lamina_catalogo cat " +
+                   "LEFT JOIN lamina_conteo c ON c.lamina_catalogo_id = cat.id " +
+                   "WHERE cat.album_id = :albumId AND cat.id IN (:catalogoIds)",
+           nativeQuery = true)
+    List<ConteoLamina> obtenerConteos(@Param("albumId") Long albumId, @Param("catalogoIds") Collection<Long> catalogoIds);
+
+    // Proyección de los totales del álbum
+    interface ResumenConteo {
+        Number getCatalogoTotal();
+        Number getTotalLaminas();
+        Number getPoseidasDistintas();
+        Number getRepetidasTotal();
+    }
+
+    // Proyección del conteo real por lámina de catálogo
+    interface ConteoReal {
+        Number getCatalogoId();
+        Number getCantidad();
+    }
+
+    // Proyección de las copias de una lámina de catálogo
+    interface ConteoLamina {
+        Number getCatalogoId();
+        String getNombre();
+        Number getCantidad();
+    }
+}
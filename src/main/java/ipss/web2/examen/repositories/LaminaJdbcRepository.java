@@ -0,0 +1,123 @@
+package ipss.web2.examen.repositories;
+
+import ipss.web2.examen.models.Lamina;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+
+// Repositorio JDBC para inserciones masivas de láminas usando batching
+// (GenerationType.IDENTITY impide que Hibernate agrupe los INSERT)
+@SuppressWarnings("null")
+@Repository
+@RequiredArgsConstructor
+public class LaminaJdbcRepository {
+
+    private static final String INSERT_LAMINA =
+        "INSERT INTO lamina (nombre, imagen, fecha_lanzamiento, tipo_lamina, created_at, updated_at, is_active, album_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SUMAR_CONTEO =
+        "INSERT INTO lamina_conteo (album_id, lamina_catalogo_id, cantidad, updated_at) " +
+        "VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON DUPLICATE KEY UPDATE cantidad = cantidad + ?, updated_at = CURRENT_TIMESTAMP";
+
+    // Catálogo activo de los álbumes activos de un rango de IDs, con las copias activas de cada lámina
+    // y la versión de datos del álbum leída en la misma sentencia
+    private static final String CONTEOS_CATALOGO =
+        "SELECT cat.album_id, a.datos_version, cat.nombre, COALESCE(c.cantidad, 0) AS cantidad " +
+        "FROM lamina_catalogo cat " +
+        "JOIN album a ON a.id = cat.album_id AND a.is_active = TRUE " +
+        "LEFT JOIN lamina_conteo c ON c.album_id = cat.album_id AND c.lamina_catalogo_id = cat.id " +
+        "WHERE cat.album_id BETWEEN ? AND ? AND cat.is_active = TRUE";
+
+    // Lámina de catálogo de un álbum con su cantidad de copias (índice de intercambios)
+    public record ConteoCatalogo(Long albumId, long version, String nombre, int cantidad) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.laminas.carga-masiva.tamano-lote-jdbc:500}")
+    private int tamanoLote;
+
+    // Insertar las láminas en lotes JDBC y asignar a cada entidad su ID generado
+    public void insertarEnLote(List<Lamina> laminas) {
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (int desde = 0; desde < laminas.size(); desde += tamanoLote) {
+            List<Lamina> lote = laminas.subList(desde, Math.min(desde + tamanoLote, laminas.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_LAMINA, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Lamina lamina = lote.get(i);
+                        lamina.setCreatedAt(ahora);
+                        lamina.setUpdatedAt(ahora);
+                        ps.setString(1, lamina.getNombre());
+                        ps.setString(2, lamina.getImagen());
+                        ps.setDate(3, Date.valueOf(lamina.getFechaLanzamiento()));
+                        ps.setString(4, lamina.getTipoLamina());
+                        ps.setTimestamp(5, Timestamp.valueOf(ahora));
+                        ps.setTimestamp(6, Timestamp.valueOf(ahora));
+                        ps.setBoolean(7, lamina.getActive());
+                        ps.setLong(8, lamina.getAlbum().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lote.size();
+                    }
+                },
+                keyHolder);
+
+            // Los IDs generados vuelven en el mismo orden que las filas del lote
+            List<Map<String, Object>> claves = keyHolder.getKeyList();
+            for (int i = 0; i < lote.size() && i < claves.size(); i++) {
+                Number id = (Number) claves.get(i).values().iterator().next();
+                lote.get(i).setId(id.longValue());
+            }
+        }
+    }
+
+    // Sumar en un solo lote las copias nuevas de cada lámina de catálogo al contador del álbum
+    public void sumarConteosEnLote(Long albumId, Map<Long, Integer> deltasPorCatalogo) {
+        List<Map.Entry<Long, Integer>> deltas = List.copyOf(deltasPorCatalogo.entrySet());
+
+        jdbcTemplate.batchUpdate(SUMAR_CONTEO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, albumId);
+                ps.setLong(2, deltas.get(i).getKey());
+                ps.setInt(3, deltas.get(i).getValue());
+                ps.setInt(4, deltas.get(i).getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    // Conteos de catálogo de los álbumes con ID entre desde y hasta (ambos incluidos)
+    public List<ConteoCatalogo> obtenerConteosCatalogo(long desdeAlbumId, long hastaAlbumId) {
+        return jdbcTemplate.query(CONTEOS_CATALOGO,
+            (rs, i) -> new ConteoCatalogo(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4)),
+            desdeAlbumId, hastaAlbumId);
+    }
+}
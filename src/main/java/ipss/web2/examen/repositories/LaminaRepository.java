@@ -1,18 +1,52 @@
 package ipss.web2.examen.repositories;
 
+import ipss.web2.examen.dtos.LaminaResponseDTO;
 import ipss.web2.examen.models.Album;
 import ipss.web2.examen.models.Lamina;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 // Repositorio para la entidad Lámina
 @Repository
 public interface LaminaRepository extends JpaRepository<Lamina, Long> {
-    List<Lamina> findByAlbumId(Long albumId);
-    List<Lamina> findByActiveTrue();
-    List<Lamina> findByAlbumAndActiveTrue(Album album);
     List<Lamina> findByAlbumAndNombreAndActiveTrue(Album album, String nombre);
+
+    // Lecturas de solo lectura proyectadas directo a DTO (una sola sentencia con join al álbum)
+    String PROYECCION_RESPONSE = "SELECT new ipss.web2.examen.dtos.LaminaResponseDTO(" +
+        "l.id, l.nombre, l.imagen, l.fechaLanzamiento, l.tipoLamina, l.createdAt, l.updatedAt, l.active, " +
+        "a.id, a.nombre, a.year) FROM Lamina l JOIN l.album a ";
+
+    @Query(PROYECCION_RESPONSE + "WHERE l.id = :id")
+    Optional<LaminaResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(PROYECCION_RESPONSE + "WHERE a.id = :albumId AND l.active = true ORDER BY l.id")
+    List<LaminaResponseDTO> findResponseByAlbumIdAndActiveTrue(@Param("albumId") Long albumId);
+
+    // Paginación keyset: siguiente página a partir del último ID entregado
+    @Query(PROYECCION_RESPONSE + "WHERE l.active = true AND l.id > :id ORDER BY l.id")
+    List<LaminaResponseDTO> findResponseByActiveTrueAndIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Filtra por la columna album_id de lamina (no por el álbum del join) para usar (album_id, id)
+    @Query(PROYECCION_RESPONSE + "WHERE l.album.id = :albumId AND l.id > :id ORDER BY l.id")
+    List<LaminaResponseDTO> findResponseByAlbumIdAndIdGreaterThan(@Param("albumId") Long albumId, @Param("id") Long id, Limit limit);
+
+    // Cantidad de copias activas por nombre, en una sola consulta agrupada (carga masiva)
+    @Query("SELECT l.nombre AS nombre, COUNT(l) AS cantidad FROM Lamina l " +
+           "WHERE l.album = :album AND l.active = true AND l.nombre IN :nombres " +
+           "GROUP BY l.nombre")
+    List<ConteoPorNombre> contarCopiasPorNombre(@Param("album") Album album, @Param("nombres") Collection<String> nombres);
+
+    // Proyección del conteo de copias por nombre
+    interface ConteoPorNombre {
+        String getNombre();
+        Long getCantidad();
+    }
 }
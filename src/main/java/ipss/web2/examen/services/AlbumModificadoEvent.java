@@ -0,0 +1,5 @@
+package ipss.web2.examen.services;
+
+// Evento publicado dentro de la transacción que modificó el álbum, su catálogo o sus láminas
+// (ver AlbumVersionService.incrementar); escucharlo con AFTER_COMMIT para ver los datos confirmados
+public record AlbumModificadoEvent(Long albumId) {}
@@ -11,7 +11,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("null")
 @Service
@@ -21,29 +20,28 @@ public class AlbumService {
     
     private final AlbumRepository albumRepository;
     private final AlbumMapper albumMapper;
+    private final AlbumVersionService albumVersionService;
+    private final CatalogoCacheService catalogoCacheService;
     
     // Crear un nuevo album
     public AlbumResponseDTO crearAlbum(AlbumRequestDTO requestDTO) {
         Album album = albumMapper.toEntity(requestDTO);
         Album albumGuardado = albumRepository.save(album);
+        albumVersionService.incrementarListado();
         return albumMapper.toResponseDTO(albumGuardado);
     }
     
     // Obtener un album por ID
     @Transactional(readOnly = true)
     public AlbumResponseDTO obtenerAlbumPorId(Long id) {
-        Album album = albumRepository.findById(id)
+        return albumRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Album", "ID", id));
-        return albumMapper.toResponseDTO(album);
     }
     
     // Obtener todos los albums activos
     @Transactional(readOnly = true)
     public List<AlbumResponseDTO> obtenerTodosLosAlbums() {
-        return albumRepository.findByActiveTrue()
-                .stream()
-                .map(albumMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return albumRepository.findResponseByActiveTrue();
     }
     
     // Actualizar un album existente
@@ -53,6 +51,8 @@ public class AlbumService {
         
         albumMapper.updateEntity(requestDTO, album);
         Album albumActualizado = albumRepository.save(album);
+        albumVersionService.incrementar(id);
+        albumVersionService.incrementarListado();
         return albumMapper.toResponseDTO(albumActualizado);
     }
     
@@ -63,6 +63,9 @@ public class AlbumService {
         
         album.setActive(false);
         albumRepository.save(album);
+        albumVersionService.incrementar(id);
+        albumVersionService.incrementarListado();
+        catalogoCacheService.invalidar(id);
     }
     
     // Obtener la entidad Album por ID (uso interno)
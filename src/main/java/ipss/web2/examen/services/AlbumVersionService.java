@@ -0,0 +1,47 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumVersionDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.repositories.AlbumRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Servicio de la versión de datos por álbum: se incrementa en la transacción de cada cambio
+// del álbum, su catálogo o sus láminas, y se lee para responder 304 en los GET condicionales.
+// Cada incremento publica AlbumModificadoEvent para quienes mantienen datos derivados del álbum.
+// El listado de álbumes tiene su propia versión, que solo crece: se incrementa con cada alta,
+// cambio, baja, archivo o restauración de un álbum (no con los cambios de catálogo o láminas)
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AlbumVersionService {
+
+    private final AlbumRepository albumRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Marcar que los datos del álbum cambiaron
+    public void incrementar(Long albumId) {
+        albumRepository.incrementarVersion(albumId);
+        eventPublisher.publishEvent(new AlbumModificadoEvent(albumId));
+    }
+
+    // Marcar que el listado de álbumes cambió
+    public void incrementarListado() {
+        albumRepository.incrementarVersionListado();
+    }
+
+    // Obtener la versión actual del álbum (404 si no existe)
+    @Transactional(readOnly = true)
+    public AlbumVersionDTO obtener(Long albumId) {
+        return albumRepository.findVersionById(albumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
+    }
+
+    // Obtener la versión del listado de álbumes
+    @Transactional(readOnly = true)
+    public AlbumVersionDTO obtenerListado() {
+        return new AlbumVersionDTO(albumRepository.obtenerVersionListado());
+    }
+}
@@ -0,0 +1,209 @@
+package ipss.web2.examen.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ipss.web2.examen.dtos.ArchivoRestauracionDTO;
+import ipss.web2.examen.dtos.ReconciliacionConteoDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.repositories.ArchivoJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+// Archivo de las filas dadas de baja: eliminarLamina, eliminarAlbum y las bajas de catálogo solo
+// marcan is_active = FALSE, y esas filas se mueven a lamina_archivo, lamina_catalogo_archivo y
+// album_archivo cuando pasan app.archivo.retencion. Así las tablas calientes crecen con los datos
+// vigentes y no con el historial. Cada lote (tamano-lote filas) es una transacción propia, con una
+// pausa entre lotes y un tope de duración por ejecución. Un álbum archivado se puede restaurar
+@Slf4j
+@Service
+public class ArchivoService {
+
+    public static final String TABLA_LAMINA = "lamina";
+    public static final String TABLA_CATALOGO = "lamina_catalogo";
+    public static final String TABLA_ALBUM = "album";
+
+    private final ArchivoJdbcRepository archivoJdbcRepository;
+    private final LaminaConteoService laminaConteoService;
+    private final AlbumVersionService albumVersionService;
+    private final CatalogoCacheService catalogoCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    @Value("${app.archivo.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.archivo.retencion:P30D}")
+    private Duration retencion;
+
+    @Value("${app.archivo.tamano-lote:1000}")
+    private int tamanoLote;
+
+    @Value("${app.archivo.pausa:PT0.2S}")
+    private Duration pausa;
+
+    @Value("${app.archivo.duracion-maxima:PT1H}")
+    private Duration duracionMaxima;
+
+    public ArchivoService(ArchivoJdbcRepository archivoJdbcRepository, LaminaConteoService laminaConteoService,
+                          AlbumVersionService albumVersionService, CatalogoCacheService catalogoCacheService,
+                          TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.archivoJdbcRepository = archivoJdbcRepository;
+        this.laminaConteoService = laminaConteoService;
+        this.albumVersionService = albumVersionService;
+        this.catalogoCacheService = catalogoCacheService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("app.archivo.en_curso", enCurso, e -> e.get() ? 1 : 0)
+            .description("1 mientras corre la compactación de filas dadas de baja")
+            .register(meterRegistry);
+    }
+
+    // Filas archivadas por tabla en una ejecución
+    private static final class Avance {
+        long laminas;
+        long catalogo;
+        long albumes;
+    }
+
+    // Archivar las bajas vencidas: láminas, entradas de catálogo y por último los álbumes (con sus
+    // láminas y catálogo). Se detiene al pasar duracion-maxima; la siguiente ejecución continúa
+    public void compactar() {
+        if (!habilitado) {
+            return;
+        }
+        if (!enCurso.compareAndSet(false, true)) {
+            log.warn("Compactación de bajas ya en curso, se omite esta ejecución");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        long fin = inicio + duracionMaxima.toNanos();
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        Avance avance = new Avance();
+        try {
+            avance.laminas += moverEnLotes(TABLA_LAMINA,
+                () -> archivoJdbcRepository.bloquearLaminasVencidas(limite, tamanoLote),
+                archivoJdbcRepository::archivarLaminas, fin);
+            avance.catalogo += moverEnLotes(TABLA_CATALOGO,
+                () -> archivoJdbcRepository.bloquearCatalogoVencido(limite, tamanoLote),
+                archivoJdbcRepository::archivarCatalogo, fin);
+            archivarAlbumes(limite, fin, avance);
+        } finally {
+            enCurso.set(false);
+        }
+
+        log.info("Compactación de bajas anteriores a {}: {} láminas, {} láminas de catálogo, {} álbumes archivados en {} ms{}",
+            limite, avance.laminas, avance.catalogo, avance.albumes, (System.nanoTime() - inicio) / 1_000_000,
+            System.nanoTime() >= fin ? " (tope de duración alcanzado)" : "");
+    }
+
+    private void archivarAlbumes(LocalDateTime limite, long fin, Avance avance) {
+        long desdeId = 0;
+        while (System.nanoTime() < fin) {
+            List<Long> albumes = archivoJdbcRepository.albumesVencidos(limite, desdeId, tamanoLote);
+            for (Long albumId : albumes) {
+                avance.laminas += moverEnLotes(TABLA_LAMINA,
+                    () -> archivoJdbcRepository.bloquearLaminasDeAlbum(albumId, tamanoLote),
+                    archivoJdbcRepository::archivarLaminas, fin);
+                avance.catalogo += moverEnLotes(TABLA_CATALOGO,
+                    () -> archivoJdbcRepository.bloquearCatalogoDeAlbum(albumId, tamanoLote),
+                    archivoJdbcRepository::archivarCatalogo, fin);
+                if (System.nanoTime() >= fin) {
+                    return;
+                }
+
+                Boolean archivado = transactionTemplate.execute(estado -> {
+                    boolean movido = archivoJdbcRepository.archivarAlbum(albumId, limite, LocalDateTime.now());
+                    if (movido) {
+                        albumVersionService.incrementarListado();
+                    }
+                    return movido;
+                });
+                if (Boolean.TRUE.equals(archivado)) {
+                    avance.albumes++;
+                    registrar(TABLA_ALBUM, "archivo", 1);
+                }
+                desdeId = albumId;
+            }
+            if (albumes.size() < tamanoLote || !pausar()) {
+                return;
+            }
+        }
+    }
+
+    // Repetir selección + movimiento, un lote por transacción, hasta agotar las filas o el tiempo
+    private long moverEnLotes(String tabla, Supplier<List<Long>> seleccion,
+                              BiFunction<List<Long>, LocalDateTime, Integer> mover, long fin) {
+        Timer timer = Timer.builder("app.archivo.lote")
+            .description("Duración de cada lote de la compactación")
+            .tag("tabla", tabla)
+            .register(meterRegistry);
+        long total = 0;
+        while (System.nanoTime() < fin) {
+            Integer movidas = timer.record(() ->
+                transactionTemplate.execute(estado -> mover.apply(seleccion.get(), LocalDateTime.now())));
+            if (movidas == null || movidas == 0) {
+                break;
+            }
+            total += movidas;
+            registrar(tabla, "archivo", movidas);
+            log.debug("Archivadas {} filas de {} ({} en esta ejecución)", movidas, tabla, total);
+            if (movidas < tamanoLote || !pausar()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Pausa entre lotes para no competir con el tráfico; false si el hilo fue interrumpido
+    private boolean pausar() {
+        if (pausa.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pausa.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Devolver un álbum archivado (activo) con su catálogo y sus láminas, y reconstruir sus contadores
+    @Transactional
+    public ArchivoRestauracionDTO restaurarAlbum(Long albumId) {
+        if (!archivoJdbcRepository.restaurarAlbum(albumId, LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Álbum archivado", "ID", albumId);
+        }
+        int catalogo = archivoJdbcRepository.restaurarCatalogo(albumId);
+        int laminas = archivoJdbcRepository.restaurarLaminas(albumId);
+        ReconciliacionConteoDTO conteos = laminaConteoService.reconciliar(albumId);
+        albumVersionService.incrementar(albumId);
+        albumVersionService.incrementarListado();
+        catalogoCacheService.invalidar(albumId);
+
+        registrar(TABLA_ALBUM, "restauracion", 1);
+        registrar(TABLA_CATALOGO, "restauracion", catalogo);
+        registrar(TABLA_LAMINA, "restauracion", laminas);
+        log.info("Álbum {} restaurado del archivo: {} láminas de catálogo, {} láminas", albumId, catalogo, laminas);
+        return new ArchivoRestauracionDTO(albumId, catalogo, laminas, conteos);
+    }
+
+    private void registrar(String tabla, String operacion, long filas) {
+        if (filas > 0) {
+            meterRegistry.counter("app.archivo.filas", "tabla", tabla, "operacion", operacion).increment(filas);
+        }
+    }
+}
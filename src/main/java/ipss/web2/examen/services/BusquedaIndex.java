@@ -0,0 +1,293 @@
+package ipss.web2.examen.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Índice de búsqueda en memoria sobre los nombres distintos de los catálogos activos.
+// Los nombres se pliegan (sin tildes, minúsculas, solo letras y dígitos) y se indexan por palabra:
+// un TreeMap para los prefijos y un índice de trigramas de palabras para las coincidencias
+// aproximadas (distancia de edición acotada). Lecturas concurrentes, escrituras exclusivas
+public class BusquedaIndex {
+
+    public enum Coincidencia { EXACTA, PREFIJO, APROXIMADA }
+
+    // Nombre encontrado: 'normalizado' es la clave de CatalogoIndex, 'albumes' cuántos lo tienen
+    public record Resultado(String nombre, String normalizado, int albumes, Coincidencia coincidencia, int distancia) {}
+
+    private static final class Nombre {
+        private final String nombre;
+        private final String normalizado;
+        private final String plegado;
+        private final String[] palabras;
+        private int albumes;
+
+        private Nombre(String nombre, String normalizado) {
+            this.nombre = nombre;
+            this.normalizado = normalizado;
+            this.plegado = plegar(nombre);
+            this.palabras = palabras(plegado);
+        }
+    }
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern LETRA = Pattern.compile("[a-z]");
+
+    private static final Comparator<Resultado> ORDEN = Comparator
+        .comparing(Resultado::coincidencia)
+        .thenComparingInt(Resultado::distancia)
+        .thenComparing(Comparator.comparingInt(Resultado::albumes).reversed())
+        .thenComparing(Resultado::normalizado);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Nombre> nombres = new HashMap<>();
+    private final TreeMap<String, Set<Nombre>> nombresPorPalabra = new TreeMap<>();
+    private final Map<String, Set<String>> palabrasPorTrigrama = new HashMap<>();
+    // Nombres de cada álbum, para descontarlos cuando su catálogo cambia
+    private final Map<Long, Set<String>> nombresPorAlbum = new HashMap<>();
+
+    // Quitar tildes y signos: "Vegeta - El Príncipe" -> "vegeta el principe"
+    public static String plegar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(CatalogoIndex.normalizar(sinMarcas)).replaceAll(" ").strip();
+    }
+
+    // Reemplazar los nombres del catálogo de un álbum (vacío si el álbum ya no tiene catálogo activo)
+    public void actualizarAlbum(long albumId, Collection<String> nombresCatalogo) {
+        Map<String, String> nuevos = new HashMap<>();
+        nombresCatalogo.forEach(nombre -> nuevos.putIfAbsent(CatalogoIndex.normalizar(nombre), nombre));
+
+        lock.writeLock().lock();
+        try {
+            Set<String> anteriores = nombresPorAlbum.remove(albumId);
+            if (anteriores != null) {
+                anteriores.forEach(this::descontar);
+            }
+            nuevos.forEach(this::contar);
+            if (!nuevos.isEmpty()) {
+                nombresPorAlbum.put(albumId, Set.copyOf(nuevos.keySet()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Nombres en los que cada palabra de la consulta es prefijo de alguna palabra del nombre o está
+    // a lo más a 'distanciaMaxima' ediciones de ella (1 para palabras de hasta cuatro letras).
+    // 'incluir' filtra por nombre normalizado (p. ej. solo los del catálogo de un álbum)
+    public List<Resultado> buscar(String consulta, int limite, int distanciaMaxima, Predicate<String> incluir) {
+        String plegada = plegar(consulta);
+        if (plegada.isEmpty() || limite < 1) {
+            return List.of();
+        }
+        String[] palabrasConsulta = palabras(plegada);
+
+        lock.readLock().lock();
+        try {
+            // Por cada palabra de la consulta, las palabras indexadas que le sirven y a qué distancia
+            List<Map<String, Integer>> distancias = new ArrayList<>(palabrasConsulta.length);
+            int guia = 0;
+            long menorCantidad = Long.MAX_VALUE;
+            for (int i = 0; i < palabrasConsulta.length; i++) {
+                Map<String, Integer> candidatas = candidatas(palabrasConsulta[i], distanciaMaxima);
+                if (candidatas.isEmpty()) {
+                    return List.of();
+                }
+                long cantidad = candidatas.keySet().stream().mapToLong(p -> nombresPorPalabra.get(p).size()).sum();
+                if (cantidad < menorCantidad) {
+                    menorCantidad = cantidad;
+                    guia = i;
+                }
+                distancias.add(candidatas);
+            }
+
+            // Recorrer solo los nombres de la palabra más selectiva y verificar las demás
+            PriorityQueue<Resultado> mejores = new PriorityQueue<>(limite + 1, ORDEN.reversed());
+            Set<Nombre> vistos = new HashSet<>();
+            for (String palabra : distancias.get(guia).keySet()) {
+                for (Nombre nombre : nombresPorPalabra.get(palabra)) {
+                    if (!vistos.add(nombre) || !incluir.test(nombre.normalizado)) {
+                        continue;
+                    }
+                    int distancia = distancia(nombre, distancias);
+                    if (distancia < 0) {
+                        continue;
+                    }
+                    Coincidencia coincidencia = nombre.plegado.equals(plegada) ? Coincidencia.EXACTA
+                        : distancia == 0 ? Coincidencia.PREFIJO : Coincidencia.APROXIMADA;
+                    mejores.add(new Resultado(nombre.nombre, nombre.normalizado, nombre.albumes, coincidencia, distancia));
+                    if (mejores.size() > limite) {
+                        mejores.poll();
+                    }
+                }
+            }
+
+            List<Resultado> resultados = new ArrayList<>(mejores);
+            resultados.sort(ORDEN);
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nombres() {
+        lock.readLock().lock();
+        try {
+            return nombres.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Palabras indexadas que empiezan con 'palabra' (distancia 0) o, si tiene tres caracteres o más
+    // y alguna letra, que están a pocas ediciones: candidatas por trigramas compartidos (cada edición
+    // cambia a lo más tres) y verificación con la distancia de edición acotada. Los números solo
+    // se buscan por prefijo: "4218" no es un error de tipeo de "4217"
+    private Map<String, Integer> candidatas(String palabra, int distanciaMaxima) {
+        Map<String, Integer> candidatas = new HashMap<>();
+        nombresPorPalabra.subMap(palabra, palabra + Character.MAX_VALUE).keySet()
+            .forEach(indexada -> candidatas.put(indexada, 0));
+
+        int maxima = palabra.length() < 3 || !LETRA.matcher(palabra).find() ? 0
+            : palabra.length() <= 4 ? Math.min(1, distanciaMaxima) : distanciaMaxima;
+        if (maxima == 0) {
+            return candidatas;
+        }
+        Set<String> trigramasPalabra = trigramas(palabra);
+        int minimoCompartidos = Math.max(1, trigramasPalabra.size() - 3 * maxima);
+        Map<String, Integer> compartidos = new HashMap<>();
+        for (String trigrama : trigramasPalabra) {
+            for (String indexada : palabrasPorTrigrama.getOrDefault(trigrama, Set.of())) {
+                compartidos.merge(indexada, 1, Integer::sum);
+            }
+        }
+        compartidos.forEach((indexada, cantidad) -> {
+            if (cantidad < minimoCompartidos || candidatas.containsKey(indexada)
+                    || Math.abs(indexada.length() - palabra.length()) > maxima) {
+                return;
+            }
+            int distancia = distancia(palabra, indexada, maxima);
+            if (distancia <= maxima) {
+                candidatas.put(indexada, distancia);
+            }
+        });
+        return candidatas;
+    }
+
+    // Suma de la mejor distancia de cada palabra de la consulta contra las del nombre; -1 si alguna no aparece
+    private static int distancia(Nombre nombre, List<Map<String, Integer>> distancias) {
+        int total = 0;
+        for (Map<String, Integer> candidatas : distancias) {
+            int mejor = Integer.MAX_VALUE;
+            for (String palabra : nombre.palabras) {
+                Integer distancia = candidatas.get(palabra);
+                if (distancia != null && distancia < mejor) {
+                    mejor = distancia;
+                }
+            }
+            if (mejor == Integer.MAX_VALUE) {
+                return -1;
+            }
+            total += mejor;
+        }
+        return total;
+    }
+
+    private void contar(String normalizado, String original) {
+        Nombre nombre = nombres.computeIfAbsent(normalizado, n -> {
+            Nombre nuevo = new Nombre(original, n);
+            for (String palabra : nuevo.palabras) {
+                indexarPalabra(palabra, nuevo);
+            }
+            return nuevo;
+        });
+        nombre.albumes++;
+    }
+
+    private void descontar(String normalizado) {
+        Nombre nombre = nombres.get(normalizado);
+        if (nombre == null || --nombre.albumes > 0) {
+            return;
+        }
+        nombres.remove(normalizado);
+        for (String palabra : nombre.palabras) {
+            Set<Nombre> conPalabra = nombresPorPalabra.get(palabra);
+            if (conPalabra == null || !conPalabra.remove(nombre) || !conPalabra.isEmpty()) {
+                continue;
+            }
+            nombresPorPalabra.remove(palabra);
+            for (String trigrama : trigramas(palabra)) {
+                Set<String> conTrigrama = palabrasPorTrigrama.get(trigrama);
+                conTrigrama.remove(palabra);
+                if (conTrigrama.isEmpty()) {
+                    palabrasPorTrigrama.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    private void indexarPalabra(String palabra, Nombre nombre) {
+        Set<Nombre> conPalabra = nombresPorPalabra.computeIfAbsent(palabra, p -> new HashSet<>());
+        if (conPalabra.isEmpty()) {
+            for (String trigrama : trigramas(palabra)) {
+                palabrasPorTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(palabra);
+            }
+        }
+        conPalabra.add(nombre);
+    }
+
+    private static String[] palabras(String plegado) {
+        return plegado.isEmpty() ? new String[0] : plegado.split(" ");
+    }
+
+    // Trigramas con un espacio de relleno a cada lado, para que los extremos también cuenten
+    private static Set<String> trigramas(String palabra) {
+        String relleno = " " + palabra + " ";
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + 3 <= relleno.length(); i++) {
+            trigramas.add(relleno.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    // Distancia de Levenshtein con corte: devuelve maxima + 1 apenas se sabe que la supera
+    static int distancia(String a, String b, int maxima) {
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                actual[j] = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + costo);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (minimoFila > maxima) {
+                return maxima + 1;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return Math.min(anterior[b.length()], maxima + 1);
+    }
+}
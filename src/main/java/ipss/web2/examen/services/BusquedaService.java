@@ -0,0 +1,126 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.BusquedaLaminaDTO;
+import ipss.web2.examen.exceptions.InvalidOperationException;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.repositories.AlbumRepository;
+import ipss.web2.examen.repositories.LaminaJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Búsqueda de láminas por nombre (prefijo, sin tildes y con errores de tipeo) sobre el índice
+// en memoria BusquedaIndex. Solo se indexan los nombres del catálogo de cada álbum: una lámina
+// creada o renombrada con un nombre fuera del catálogo (crearLamina y actualizarLamina lo
+// permiten) no aparece en la búsqueda. Se construye al iniciar la aplicación y se actualiza por
+// álbum después de cada commit que cambia su catálogo
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BusquedaService {
+
+    private final AlbumRepository albumRepository;
+    private final LaminaJdbcRepository laminaJdbcRepository;
+    private final CatalogoCacheService catalogoCacheService;
+
+    // Álbumes modificados mientras se reconstruye el índice, para aplicarlos al índice nuevo
+    private final Set<Long> modificadosEnReconstruccion = ConcurrentHashMap.newKeySet();
+    private volatile BusquedaIndex indice = new BusquedaIndex();
+    private volatile boolean reconstruyendo;
+
+    @Value("${app.busqueda.albumes-por-consulta:1000}")
+    private int albumesPorConsulta;
+
+    @Value("${app.busqueda.limite-defecto:10}")
+    private int limiteDefecto;
+
+    @Value("${app.busqueda.limite-maximo:50}")
+    private int limiteMaximo;
+
+    @Value("${app.busqueda.distancia-maxima:2}")
+    private int distanciaMaxima;
+
+    // Buscar en el catálogo de un álbum, o en todos los catálogos si albumId es null. Sin
+    // transacción readOnly propia: un fallo de caché del catálogo se carga desde la primaria
+    public List<BusquedaLaminaDTO> buscar(String consulta, Long albumId, Integer limite) {
+        if (BusquedaIndex.plegar(consulta).isEmpty()) {
+            throw new InvalidOperationException("La búsqueda debe contener al menos una letra o dígito",
+                "SEARCH_QUERY_EMPTY");
+        }
+        int limiteResultados = limite == null || limite < 1 ? limiteDefecto : Math.min(limite, limiteMaximo);
+
+        if (albumId == null) {
+            return indice.buscar(consulta, limiteResultados, distanciaMaxima, nombre -> true).stream()
+                .map(r -> new BusquedaLaminaDTO(r.nombre(), null, null, r.albumes(),
+                    r.coincidencia().name(), r.distancia()))
+                .collect(Collectors.toList());
+        }
+
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum", "ID", albumId);
+        }
+        CatalogoIndex catalogo = catalogoCacheService.obtenerIndice(albumId);
+        return indice.buscar(consulta, limiteResultados, distanciaMaxima, catalogo::contiene).stream()
+            .flatMap(r -> catalogo.buscar(r.normalizado()).stream()
+                .map(entrada -> new BusquedaLaminaDTO(entrada.nombre(), albumId, entrada.id(), null,
+                    r.coincidencia().name(), r.distancia())))
+            .collect(Collectors.toList());
+    }
+
+    // Cargar el índice completo en rangos de albumes-por-consulta IDs
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        reconstruyendo = true;
+        modificadosEnReconstruccion.clear();
+        try {
+            BusquedaIndex nuevo = new BusquedaIndex();
+            long maxId = albumRepository.obtenerMaxId();
+            for (long desde = 1; desde <= maxId; desde += albumesPorConsulta) {
+                laminaJdbcRepository.obtenerConteosCatalogo(desde, desde + albumesPorConsulta - 1).stream()
+                    .collect(Collectors.groupingBy(LaminaJdbcRepository.ConteoCatalogo::albumId,
+                        LinkedHashMap::new,
+                        Collectors.mapping(LaminaJdbcRepository.ConteoCatalogo::nombre, Collectors.toList())))
+                    .forEach(nuevo::actualizarAlbum);
+            }
+            indice = nuevo;
+        } finally {
+            reconstruyendo = false;
+        }
+
+        for (Long albumId : List.copyOf(modificadosEnReconstruccion)) {
+            actualizar(albumId);
+        }
+        log.info("Índice de búsqueda construido: {} nombres en {} ms",
+            indice.nombres(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // Releer el catálogo recién confirmado (en una transacción propia, contra la primaria)
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void alModificarCatalogo(CatalogoModificadoEvent evento) {
+        if (reconstruyendo) {
+            modificadosEnReconstruccion.add(evento.albumId());
+        }
+        actualizar(evento.albumId());
+    }
+
+    // Sin filas (álbum inactivo o sin catálogo) el álbum deja de aportar nombres
+    private void actualizar(Long albumId) {
+        indice.actualizarAlbum(albumId, laminaJdbcRepository.obtenerConteosCatalogo(albumId, albumId).stream()
+            .map(LaminaJdbcRepository.ConteoCatalogo::nombre)
+            .toList());
+    }
+}
@@ -0,0 +1,128 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.CargaMasivaJobDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import ipss.web2.examen.dtos.PaginaDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+// Estado en memoria de una carga masiva asíncrona: progreso, resultados por lámina y cancelación.
+// Lo actualiza el hilo del executor y lo leen las consultas de progreso (acceso sincronizado)
+class CargaMasivaJob {
+
+    enum Estado {
+        EN_COLA, EN_PROCESO, COMPLETADO, CANCELADO, FALLIDO;
+
+        boolean finalizado() {
+            return this == COMPLETADO || this == CANCELADO || this == FALLIDO;
+        }
+    }
+
+    @Getter
+    private final String id;
+    @Getter
+    private final Long albumId;
+    @Getter
+    private final int total;
+    private final LocalDateTime creadoEn = LocalDateTime.now();
+    private final List<LaminaCargueMasivoResponseDTO> resultados;
+
+    // Se libera al finalizar para no retener la solicitud completa en memoria
+    private List<LaminaRequestDTO> laminas;
+    private Future<?> tarea;
+    private Estado estado = Estado.EN_COLA;
+    private boolean cancelacionSolicitada;
+    private LocalDateTime iniciadoEn;
+    private LocalDateTime finalizadoEn;
+    private String error;
+    private int exitosas;
+    private int fallidas;
+
+    CargaMasivaJob(String id, Long albumId, List<LaminaRequestDTO> laminas) {
+        this.id = id;
+        this.albumId = albumId;
+        this.total = laminas.size();
+        this.laminas = List.copyOf(laminas);
+        this.resultados = new ArrayList<>(laminas.size());
+    }
+
+    synchronized void asignarTarea(Future<?> tarea) {
+        this.tarea = tarea;
+    }
+
+    // Pasar a EN_PROCESO; false si se canceló mientras esperaba en la cola
+    synchronized boolean iniciar() {
+        if (estado != Estado.EN_COLA) {
+            return false;
+        }
+        estado = Estado.EN_PROCESO;
+        iniciadoEn = LocalDateTime.now();
+        return true;
+    }
+
+    synchronized boolean isCancelacionSolicitada() {
+        return cancelacionSolicitada;
+    }
+
+    // Un job en cola se cancela de inmediato; uno en proceso se detiene al terminar el bloque actual
+    synchronized boolean solicitarCancelacion() {
+        cancelacionSolicitada = true;
+        if (estado != Estado.EN_COLA) {
+            return false;
+        }
+        if (tarea != null) {
+            tarea.cancel(false);
+        }
+        finalizar(Estado.CANCELADO, null);
+        return true;
+    }
+
+    synchronized List<LaminaRequestDTO> bloque(int desde, int tamano) {
+        return laminas.subList(desde, Math.min(desde + tamano, laminas.size()));
+    }
+
+    synchronized void agregarResultados(List<LaminaCargueMasivoResponseDTO> bloque) {
+        for (LaminaCargueMasivoResponseDTO resultado : bloque) {
+            resultados.add(resultado);
+            if (resultado.laminaId() != null) {
+                exitosas++;
+            } else {
+                fallidas++;
+            }
+        }
+    }
+
+    synchronized void finalizar(Estado estadoFinal, String error) {
+        this.estado = estadoFinal;
+        this.error = error;
+        this.finalizadoEn = LocalDateTime.now();
+        this.laminas = null;
+    }
+
+    synchronized Estado getEstado() {
+        return estado;
+    }
+
+    synchronized LocalDateTime getFinalizadoEn() {
+        return finalizadoEn;
+    }
+
+    // Foto consistente del progreso con los resultados posteriores a la posición 'desde'.
+    // Mientras el job no finaliza siempre hay cursor, para seguir consultando desde ahí
+    synchronized CargaMasivaJobDTO toDTO(int desde, int tamano) {
+        int inicio = Math.min(desde, resultados.size());
+        int fin = Math.min(inicio + tamano, resultados.size());
+        boolean hayMas = fin < resultados.size() || !estado.finalizado();
+        List<LaminaCargueMasivoResponseDTO> items = List.copyOf(resultados.subList(inicio, fin));
+        String siguienteCursor = hayMas ? CursorPaginacion.codificar((long) fin) : null;
+
+        return new CargaMasivaJobDTO(id, albumId, estado.name(), total, resultados.size(), exitosas, fallidas,
+            creadoEn, iniciadoEn, finalizadoEn, error,
+            new PaginaDTO<>(items, siguienteCursor, items.size(), hayMas));
+    }
+}
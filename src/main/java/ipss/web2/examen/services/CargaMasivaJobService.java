@@ -0,0 +1,193 @@
+package ipss.web2.examen.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ipss.web2.examen.dtos.CargaMasivaJobDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
+import ipss.web2.examen.exceptions.InvalidOperationException;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.metrics.LaminaMetricas;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cargas masivas asíncronas: el job se registra en memoria, se procesa en un executor acotado
+// en bloques (cada uno en su propia transacción; un bloque fallido no detiene el job) y se consulta por
+// su ID. Sigue corriendo aunque el cliente se desconecte; los finalizados se purgan tras la retención
+// o, si superan finalizados-maximo, desde el más antiguo (cada uno guarda todos sus resultados)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CargaMasivaJobService {
+
+    private final LaminaService laminaService;
+    private final LaminaMetricas laminaMetricas;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CargaMasivaJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.laminas.carga-masiva.jobs.hilos:2}")
+    private int hilos;
+
+    @Value("${app.laminas.carga-masiva.jobs.capacidad-cola:20}")
+    private int capacidadCola;
+
+    @Value("${app.laminas.carga-masiva.jobs.retencion:PT1H}")
+    private Duration retencion;
+
+    @Value("${app.laminas.carga-masiva.jobs.finalizados-maximo:50}")
+    private int finalizadosMaximo;
+
+    @Value("${app.laminas.carga-masiva.tamano-bloque:500}")
+    private int tamanoBloque;
+
+    @Value("${app.paginacion.tamano-defecto:50}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${app.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(capacidadCola);
+        executor.setThreadNamePrefix("carga-masiva-");
+        executor.initialize();
+
+        Gauge.builder("app.laminas.carga_masiva.jobs.cola", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size())
+            .description("Jobs de carga masiva esperando en la cola")
+            .register(meterRegistry);
+        Gauge.builder("app.laminas.carga_masiva.jobs.activos", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Jobs de carga masiva en proceso")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdown();
+    }
+
+    // Registrar y encolar un job; el álbum y su catálogo se validan antes de aceptar la solicitud
+    public CargaMasivaJobDTO crear(LaminaCargueMasivoRequestDTO cargueMasivo) {
+        laminaService.validarCargaMasiva(cargueMasivo.albumId());
+
+        CargaMasivaJob job = new CargaMasivaJob(UUID.randomUUID().toString(), cargueMasivo.albumId(),
+            cargueMasivo.laminas());
+        jobs.put(job.getId(), job);
+
+        try {
+            job.asignarTarea(executor.submit(() -> ejecutar(job)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+
+        laminaMetricas.registrarCargaMasiva(job.getAlbumId(), "job", job.getTotal());
+        log.info("Job de carga masiva {} encolado: álbum {}, {} láminas", job.getId(), job.getAlbumId(), job.getTotal());
+        return job.toDTO(0, 0);
+    }
+
+    // Progreso del job y la página de resultados que sigue al cursor
+    public CargaMasivaJobDTO obtener(String id, String cursor, Integer tamano) {
+        int desde = CursorPaginacion.decodificarPosicion(cursor);
+        int tamanoPagina = tamano == null || tamano < 1 ? tamanoPaginaDefecto : Math.min(tamano, tamanoPaginaMaximo);
+        return buscar(id).toDTO(desde, tamanoPagina);
+    }
+
+    // Cancelar un job en cola o en proceso (los bloques ya confirmados se mantienen)
+    public CargaMasivaJobDTO cancelar(String id) {
+        CargaMasivaJob job = buscar(id);
+        if (job.getEstado().finalizado()) {
+            throw new InvalidOperationException(
+                "El job " + id + " ya finalizó con estado " + job.getEstado(), "JOB_ALREADY_FINISHED");
+        }
+
+        if (job.solicitarCancelacion()) {
+            // Sacar de la cola la tarea cancelada para que no cuente en la profundidad
+            executor.getThreadPoolExecutor().purge();
+            limitarFinalizados();
+        }
+        log.info("Cancelación solicitada para el job de carga masiva {}", id);
+        return job.toDTO(0, 0);
+    }
+
+    // Eliminar los jobs finalizados hace más que la retención configurada
+    public int purgarFinalizados() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        int antes = jobs.size();
+        jobs.values().removeIf(job -> job.getEstado().finalizado() && job.getFinalizadoEn().isBefore(limite));
+        return antes - jobs.size();
+    }
+
+    // Eliminar los finalizados más antiguos que excedan finalizados-maximo, sin esperar la retención
+    private void limitarFinalizados() {
+        List<CargaMasivaJob> finalizados = jobs.values().stream()
+            .filter(job -> job.getEstado().finalizado())
+            .sorted(Comparator.comparing(CargaMasivaJob::getFinalizadoEn))
+            .toList();
+        for (int i = 0; i < finalizados.size() - finalizadosMaximo; i++) {
+            jobs.remove(finalizados.get(i).getId());
+        }
+    }
+
+    private CargaMasivaJob buscar(String id) {
+        CargaMasivaJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Job de carga masiva", "ID", id);
+        }
+        return job;
+    }
+
+    private void ejecutar(CargaMasivaJob job) {
+        if (!job.iniciar()) {
+            return;
+        }
+
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        try {
+            int numeroBloque = 1;
+            for (int desde = 0; desde < job.getTotal(); desde += tamanoBloque) {
+                if (job.isCancelacionSolicitada()) {
+                    break;
+                }
+                job.agregarResultados(laminaService.agregarBloqueMasivo(
+                    job.getAlbumId(), job.bloque(desde, tamanoBloque), numeroBloque++));
+            }
+            job.finalizar(job.isCancelacionSolicitada() ? CargaMasivaJob.Estado.CANCELADO : CargaMasivaJob.Estado.COMPLETADO, null);
+        } catch (Exception e) {
+            log.error("Job de carga masiva {} fallido", job.getId(), e);
+            job.finalizar(CargaMasivaJob.Estado.FALLIDO, e.getMessage());
+        } finally {
+            registrarDuracion(job, muestra);
+            limitarFinalizados();
+        }
+
+        log.info("Job de carga masiva {} finalizado: {}", job.getId(), job.getEstado());
+    }
+
+    private void registrarDuracion(CargaMasivaJob job, Timer.Sample muestra) {
+        muestra.stop(Timer.builder("app.laminas.carga_masiva.jobs.duracion")
+            .description("Duración de los jobs de carga masiva hasta su estado final")
+            .tag("estado", job.getEstado().name())
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,149 @@
+package ipss.web2.examen.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Timer;
+import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.metrics.LaminaMetricas;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Carga masiva en streaming (application/x-ndjson): lee una lámina por línea, la procesa
+// en bloques acotados (cada uno en su propia transacción) y escribe el resultado de cada
+// lámina en cuanto su bloque se confirma, con memoria constante sin importar el tamaño.
+// Un bloque son tamano-bloque-stream líneas, válidas o no: las inválidas no agregan transacciones
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CargaMasivaStreamService {
+
+    private static final byte[] SALTO_LINEA = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final LaminaService laminaService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LaminaMetricas laminaMetricas;
+
+    @Value("${app.laminas.carga-masiva.tamano-bloque-stream:500}")
+    private int tamanoBloque;
+
+    // Validar álbum y catálogo antes de empezar a responder (los errores usan el manejador global)
+    public void validarDestino(Long albumId) {
+        laminaService.validarCargaMasiva(albumId);
+    }
+
+    // Línea pendiente del bloque: una lámina válida o el resultado ya conocido de una línea inválida
+    private record Pendiente(LaminaRequestDTO lamina, LaminaCargueMasivoResponseDTO rechazo) {}
+
+    // Procesar el flujo NDJSON de entrada escribiendo un resultado NDJSON por lámina
+    public void procesar(Long albumId, InputStream entrada, OutputStream salida) throws IOException {
+        ObjectWriter escritor = objectMapper.writerFor(LaminaCargueMasivoResponseDTO.class);
+        List<Pendiente> bloque = new ArrayList<>(tamanoBloque);
+        long procesadas = 0;
+        AtomicInteger bloques = new AtomicInteger();
+
+        try (MappingIterator<LaminaRequestDTO> lineas = objectMapper
+                .readerFor(LaminaRequestDTO.class)
+                .readValues(entrada)) {
+            while (lineas.hasNextValue()) {
+                LaminaRequestDTO laminaDTO = lineas.nextValue();
+                String error = validar(laminaDTO);
+
+                // Las líneas inválidas ocupan su posición en el bloque, sin forzar su confirmación
+                bloque.add(error == null ? new Pendiente(laminaDTO, null) : new Pendiente(null,
+                    new LaminaCargueMasivoResponseDTO(null, laminaDTO.getNombre(), false, 0, false,
+                        "❌ NO AGREGADA: " + error, null)));
+                if (bloque.size() >= tamanoBloque) {
+                    procesadas += escribirBloque(albumId, bloque, bloques, escritor, salida);
+                }
+            }
+            procesadas += escribirBloque(albumId, bloque, bloques, escritor, salida);
+        } catch (JsonProcessingException e) {
+            interrumpir(albumId, procesadas, escritor, salida, "Línea NDJSON inválida: " + e.getOriginalMessage());
+            return;
+        } catch (ResourceNotFoundException e) {
+            // El álbum dejó de existir a mitad de la carga: la respuesta 200 ya está en curso
+            interrumpir(albumId, procesadas, escritor, salida, e.getMessage());
+            return;
+        }
+
+        laminaMetricas.registrarCargaMasiva(albumId, "ndjson", procesadas);
+        log.debug("Carga masiva NDJSON del álbum {} finalizada: {} láminas", albumId, procesadas);
+    }
+
+    // Terminar la respuesta con una línea de error; lo ya escrito quedó confirmado
+    private void interrumpir(Long albumId, long procesadas, ObjectWriter escritor, OutputStream salida,
+                             String motivo) throws IOException {
+        log.warn("Carga masiva NDJSON del álbum {} interrumpida tras {} láminas: {}", albumId, procesadas, motivo);
+        escribir(escritor, salida, new LaminaCargueMasivoResponseDTO(
+            null, null, false, 0, false, "❌ ERROR: " + motivo, null));
+        salida.flush();
+        laminaMetricas.registrarCargaMasiva(albumId, "ndjson", procesadas);
+    }
+
+    // Procesar y confirmar las láminas válidas del bloque pendiente, escribir los resultados en
+    // el orden de entrada (intercalando las líneas inválidas) y vaciarlo
+    private int escribirBloque(Long albumId, List<Pendiente> bloque, AtomicInteger bloques,
+                               ObjectWriter escritor, OutputStream salida) throws IOException {
+        if (bloque.isEmpty()) {
+            return 0;
+        }
+
+        int cantidad = bloque.size();
+        List<LaminaRequestDTO> validas = bloque.stream()
+            .map(Pendiente::lamina)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        Iterator<LaminaCargueMasivoResponseDTO> resultados = validas.isEmpty()
+            ? Collections.emptyIterator()
+            : laminaService.agregarBloqueMasivo(albumId, validas, bloques.incrementAndGet()).iterator();
+
+        Timer.Sample muestra = Timer.start();
+        for (Pendiente pendiente : bloque) {
+            escribir(escritor, salida, pendiente.rechazo() != null ? pendiente.rechazo() : resultados.next());
+        }
+        muestra.stop(laminaMetricas.fase("serializacion", albumId));
+        salida.flush();
+        bloque.clear();
+        return cantidad;
+    }
+
+    private void escribir(ObjectWriter escritor, OutputStream salida, LaminaCargueMasivoResponseDTO resultado)
+            throws IOException {
+        salida.write(escritor.writeValueAsBytes(resultado));
+        salida.write(SALTO_LINEA);
+    }
+
+    // Aplicar las mismas validaciones de LaminaRequestDTO que en el cuerpo JSON (@Valid)
+    private String validar(LaminaRequestDTO laminaDTO) {
+        Set<ConstraintViolation<LaminaRequestDTO>> violaciones = validator.validate(laminaDTO);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
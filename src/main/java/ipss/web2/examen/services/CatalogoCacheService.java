@@ -0,0 +1,54 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.config.CacheConfig;
+import ipss.web2.examen.repositories.LaminaCatalogoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Caché acotada (Caffeine) del catálogo de cada álbum: las validaciones de pertenencia
+// al catálogo son una búsqueda en un HashMap, sin SQL, mientras la entrada esté en caché
+@Service
+@RequiredArgsConstructor
+public class CatalogoCacheService {
+
+    private final LaminaCatalogoRepository laminaCatalogoRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Obtener el índice del catálogo activo del álbum (cargándolo si no está en caché). El índice
+    // valida escrituras: se carga desde la primaria (transacción no readOnly), nunca desde una
+    // réplica atrasada. Quien lo llame no debe tenerlo dentro de una transacción readOnly
+    @Cacheable(cacheNames = CacheConfig.CATALOGOS, key = "#albumId")
+    @Transactional
+    public CatalogoIndex obtenerIndice(Long albumId) {
+        return CatalogoIndex.desde(albumId, laminaCatalogoRepository.findByAlbumIdAndActiveTrue(albumId));
+    }
+
+    // Invalidar el catálogo del álbum; si hay una transacción en curso se vuelve a invalidar
+    // al confirmarla, para no dejar en caché una lectura concurrente anterior al commit.
+    // También avisa a los índices derivados del catálogo (búsqueda por nombre)
+    public void invalidar(Long albumId) {
+        eventPublisher.publishEvent(new CatalogoModificadoEvent(albumId));
+        Cache cache = cacheManager.getCache(CacheConfig.CATALOGOS);
+        if (cache == null) {
+            return;
+        }
+
+        cache.evict(albumId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(albumId);
+                }
+            });
+        }
+    }
+}
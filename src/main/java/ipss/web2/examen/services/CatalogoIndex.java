@@ -0,0 +1,47 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.models.LaminaCatalogo;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Índice inmutable del catálogo activo de un álbum, por nombre normalizado.
+// Es el valor que se guarda en la caché "catalogos" (ver CatalogoCacheService).
+public record CatalogoIndex(Long albumId, Map<String, Entrada> entradasPorNombre) {
+
+    // Lámina del catálogo reducida a lo que necesitan las validaciones
+    public record Entrada(Long id, String nombre) {}
+
+    public static CatalogoIndex desde(Long albumId, List<LaminaCatalogo> catalogo) {
+        Map<String, Entrada> entradas = catalogo.stream()
+            .collect(Collectors.toUnmodifiableMap(
+                cat -> normalizar(cat.getNombre()),
+                cat -> new Entrada(cat.getId(), cat.getNombre()),
+                (a, b) -> a));
+        return new CatalogoIndex(albumId, entradas);
+    }
+
+    // Normalizar un nombre de lámina para comparaciones sin distinguir mayúsculas
+    public static String normalizar(String nombre) {
+        return nombre == null ? "" : nombre.toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<Entrada> buscar(String nombre) {
+        return Optional.ofNullable(entradasPorNombre.get(normalizar(nombre)));
+    }
+
+    public boolean contiene(String nombre) {
+        return entradasPorNombre.containsKey(normalizar(nombre));
+    }
+
+    public boolean isEmpty() {
+        return entradasPorNombre.isEmpty();
+    }
+
+    public int size() {
+        return entradasPorNombre.size();
+    }
+}
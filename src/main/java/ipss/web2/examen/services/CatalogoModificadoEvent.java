@@ -0,0 +1,5 @@
+package ipss.web2.examen.services;
+
+// Evento publicado dentro de la transacción que cambió el catálogo activo de un álbum (creación
+// del catálogo o desactivación del álbum, ver CatalogoCacheService.invalidar)
+public record CatalogoModificadoEvent(Long albumId) {}
@@ -0,0 +1,136 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.CatalogoCambiosDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.exceptions.InvalidOperationException;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.repositories.AlbumRepository;
+import ipss.web2.examen.repositories.LaminaCatalogoJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Creación y actualización incremental del catálogo de un álbum. La lista recibida se compara en
+// una pasada contra el catálogo vigente (por nombre, sin distinguir mayúsculas) y solo se escriben
+// las diferencias, en lotes JDBC: altas, cambios de imagen/fecha/tipo y bajas lógicas. Cada
+// actualización con cambios incrementa la versión del catálogo y la versión de datos del álbum,
+// e invalida la caché de catálogos (y con ella los índices derivados, p.ej. la búsqueda)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CatalogoService {
+
+    private final AlbumRepository albumRepository;
+    private final LaminaCatalogoJdbcRepository laminaCatalogoJdbcRepository;
+    private final CatalogoCacheService catalogoCacheService;
+    private final AlbumVersionService albumVersionService;
+
+    // Crear el catálogo de un álbum que aún no tiene uno
+    public List<LaminaCatalogoResponseDTO> crearCatalogo(Long albumId, List<LaminaCatalogoRequestDTO> laminasCatalogo) {
+        CatalogoCambiosDTO cambios = aplicar(albumId, laminasCatalogo, false, false, true);
+        return cambios.agregadas();
+    }
+
+    // Llevar el catálogo a la lista recibida. Con 'reemplazar' se dan de baja las láminas vigentes
+    // que no vienen en la lista; si no, solo se agregan y modifican. Con 'simular' solo se
+    // calculan las diferencias
+    public CatalogoCambiosDTO actualizarCatalogo(Long albumId, List<LaminaCatalogoRequestDTO> laminasCatalogo,
+                                                 boolean reemplazar, boolean simular) {
+        return aplicar(albumId, laminasCatalogo, reemplazar, simular, false);
+    }
+
+    private CatalogoCambiosDTO aplicar(Long albumId, List<LaminaCatalogoRequestDTO> laminasCatalogo,
+                                       boolean reemplazar, boolean simular, boolean soloSiVacio) {
+        // Bloquear el álbum: dos actualizaciones del mismo catálogo no se calculan sobre el mismo estado
+        long version = albumRepository.bloquearVersionCatalogo(albumId)
+            .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
+
+        Map<String, LaminaCatalogoJdbcRepository.Fila> actuales = new HashMap<>();
+        for (LaminaCatalogoJdbcRepository.Fila fila : laminaCatalogoJdbcRepository.obtenerCatalogo(albumId)) {
+            actuales.put(CatalogoIndex.normalizar(fila.nombre()), fila);
+        }
+        if (soloSiVacio && actuales.values().stream().anyMatch(LaminaCatalogoJdbcRepository.Fila::activa)) {
+            throw new InvalidOperationException("Este álbum ya tiene un catálogo de láminas definido", "CATALOG_EXISTS");
+        }
+
+        List<LaminaCatalogoRequestDTO> nuevas = new ArrayList<>();
+        List<LaminaCatalogoJdbcRepository.Actualizacion> actualizaciones = new ArrayList<>();
+        List<LaminaCatalogoResponseDTO> modificadas = new ArrayList<>();
+        List<LaminaCatalogoResponseDTO> reactivadas = new ArrayList<>();
+        Set<String> vistos = new HashSet<>();
+        int sinCambios = 0;
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (LaminaCatalogoRequestDTO dto : laminasCatalogo) {
+            String clave = CatalogoIndex.normalizar(dto.nombre());
+            if (!vistos.add(clave)) {
+                throw new InvalidOperationException(
+                    "La lámina '" + dto.nombre() + "' aparece más de una vez en el catálogo", "CATALOG_DUPLICATE_NAME");
+            }
+
+            LaminaCatalogoJdbcRepository.Fila actual = actuales.remove(clave);
+            if (actual == null) {
+                nuevas.add(dto);
+            } else if (!actual.activa()) {
+                // Dada de baja antes: se reactiva la misma fila (el nombre es único por álbum)
+                actualizaciones.add(new LaminaCatalogoJdbcRepository.Actualizacion(actual.id(), dto));
+                reactivadas.add(respuesta(actual.id(), dto, actual.createdAt(), ahora));
+            } else if (distinta(actual, dto)) {
+                actualizaciones.add(new LaminaCatalogoJdbcRepository.Actualizacion(actual.id(), dto));
+                modificadas.add(respuesta(actual.id(), dto, actual.createdAt(), ahora));
+            } else {
+                sinCambios++;
+            }
+        }
+
+        List<LaminaCatalogoJdbcRepository.Fila> bajas = !reemplazar ? List.of() : actuales.values().stream()
+            .filter(LaminaCatalogoJdbcRepository.Fila::activa)
+            .toList();
+
+        List<LaminaCatalogoResponseDTO> agregadas = new ArrayList<>(nuevas.size() + reactivadas.size());
+        List<Long> ids = simular ? null : laminaCatalogoJdbcRepository.insertarEnLote(albumId, nuevas, ahora);
+        for (int i = 0; i < nuevas.size(); i++) {
+            agregadas.add(respuesta(ids != null ? ids.get(i) : null, nuevas.get(i), ahora, ahora));
+        }
+        agregadas.addAll(reactivadas);
+        List<String> eliminadas = bajas.stream().map(LaminaCatalogoJdbcRepository.Fila::nombre).toList();
+
+        if (simular || agregadas.isEmpty() && modificadas.isEmpty() && eliminadas.isEmpty()) {
+            return new CatalogoCambiosDTO(albumId, version, simular, agregadas, modificadas, eliminadas, sinCambios);
+        }
+
+        laminaCatalogoJdbcRepository.actualizarEnLote(actualizaciones, ahora);
+        laminaCatalogoJdbcRepository.desactivarEnLote(bajas.stream().map(LaminaCatalogoJdbcRepository.Fila::id).toList(), ahora);
+        albumRepository.incrementarVersionCatalogo(albumId);
+        catalogoCacheService.invalidar(albumId);
+        albumVersionService.incrementar(albumId);
+        log.info("Catálogo del álbum {} en versión {}: {} agregadas, {} modificadas, {} eliminadas",
+            albumId, version + 1, agregadas.size(), modificadas.size(), eliminadas.size());
+        return new CatalogoCambiosDTO(albumId, version + 1, false, agregadas, modificadas, eliminadas, sinCambios);
+    }
+
+    private static boolean distinta(LaminaCatalogoJdbcRepository.Fila actual, LaminaCatalogoRequestDTO dto) {
+        return !actual.nombre().equals(dto.nombre())
+            || !Objects.equals(actual.imagen(), dto.imagen())
+            || !Objects.equals(actual.fechaLanzamiento(), dto.fechaLanzamiento())
+            || !Objects.equals(actual.tipoLamina(), dto.tipoLamina());
+    }
+
+    private static LaminaCatalogoResponseDTO respuesta(Long id, LaminaCatalogoRequestDTO dto,
+                                                       LocalDateTime creada, LocalDateTime actualizada) {
+        return new LaminaCatalogoResponseDTO(id, dto.nombre(), dto.imagen(), dto.fechaLanzamiento(),
+            dto.tipoLamina(), creada, actualizada, true);
+    }
+}
@@ -0,0 +1,54 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.exceptions.InvalidOperationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Codifica y decodifica el cursor opaco de la paginación keyset (último ID entregado) y de los
+// resultados de un job (posición siguiente). Un valor negativo o mal formado es INVALID_CURSOR
+public final class CursorPaginacion {
+
+    private static final String PREFIJO = "id:";
+
+    private CursorPaginacion() {
+    }
+
+    public static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIJO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Sin cursor se empieza desde el principio (ID 0)
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIJO)) {
+                throw new IllegalArgumentException(valor);
+            }
+            long ultimoId = Long.parseLong(valor.substring(PREFIJO.length()));
+            if (ultimoId < 0) {
+                throw new IllegalArgumentException(valor);
+            }
+            return ultimoId;
+        } catch (IllegalArgumentException e) {
+            throw cursorInvalido(cursor);
+        }
+    }
+
+    // Posición dentro de una lista en memoria: además debe caber en un int
+    public static int decodificarPosicion(String cursor) {
+        long posicion = decodificar(cursor);
+        if (posicion > Integer.MAX_VALUE) {
+            throw cursorInvalido(cursor);
+        }
+        return (int) posicion;
+    }
+
+    private static InvalidOperationException cursorInvalido(String cursor) {
+        return new InvalidOperationException("Cursor de paginación inválido: " + cursor, "INVALID_CURSOR");
+    }
+}
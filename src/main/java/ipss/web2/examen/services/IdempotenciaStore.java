@@ -0,0 +1,102 @@
+package ipss.web2.examen.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Almacén en memoria de las claves Idempotency-Key (ver IdempotenciaFilter): por clave, la huella
+// de la petición original y su respuesta. Acotado por bytes (peso = tamaño de la respuesta) y con
+// vencimiento desde la escritura. Mientras la petición original se procesa, la entrada queda
+// reservada y los reintentos con la misma clave esperan su respuesta en lugar de ejecutarse
+@Service
+@RequiredArgsConstructor
+public class IdempotenciaStore {
+
+    // Respuesta guardada: lo necesario para repetirla tal cual
+    public record Respuesta(int status, String contentType, String location, byte[] cuerpo) {}
+
+    // Reserva de una clave: 'propia' si esta petición debe ejecutarse y completar la entrada
+    public record Reserva(Entrada entrada, boolean propia) {}
+
+    public static final class Entrada {
+
+        private final String huella;
+        private final CompletableFuture<Respuesta> respuesta = new CompletableFuture<>();
+
+        private Entrada(String huella) {
+            this.huella = huella;
+        }
+
+        public String getHuella() {
+            return huella;
+        }
+
+        // Respuesta de la petición original, esperando hasta 'espera' si aún se procesa.
+        // Vacío si no terminó a tiempo o si falló sin respuesta que guardar
+        public Optional<Respuesta> esperar(Duration espera) throws InterruptedException {
+            try {
+                return Optional.of(respuesta.get(espera.toMillis(), TimeUnit.MILLISECONDS));
+            } catch (TimeoutException | ExecutionException e) {
+                return Optional.empty();
+            }
+        }
+
+        private int peso() {
+            Respuesta guardada = respuesta.getNow(null);
+            return huella.length() + (guardada != null ? guardada.cuerpo().length : 0);
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.idempotencia.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${app.idempotencia.tamano-maximo:64MB}")
+    private DataSize tamanoMaximo;
+
+    private Cache<String, Entrada> entradas;
+
+    @PostConstruct
+    void iniciar() {
+        entradas = Caffeine.newBuilder()
+            .maximumWeight(tamanoMaximo.toBytes())
+            .weigher((String clave, Entrada entrada) -> clave.length() + entrada.peso())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entradas, "idempotencia");
+    }
+
+    // Reservar la clave para esta petición, o devolver la entrada que ya existe
+    public Reserva reservar(String clave, String huella) {
+        Entrada nueva = new Entrada(huella);
+        Entrada existente = entradas.asMap().putIfAbsent(clave, nueva);
+        return existente == null ? new Reserva(nueva, true) : new Reserva(existente, false);
+    }
+
+    // Guardar la respuesta de la petición original (se vuelve a pesar con el cuerpo incluido)
+    public void completar(String clave, Entrada entrada, Respuesta respuesta) {
+        entrada.respuesta.complete(respuesta);
+        entradas.asMap().replace(clave, entrada, entrada);
+    }
+
+    // Liberar la clave sin guardar respuesta (error del servidor): el siguiente reintento se ejecuta
+    public void liberar(String clave, Entrada entrada) {
+        entradas.asMap().remove(clave, entrada);
+        entrada.respuesta.completeExceptionally(new IllegalStateException("Petición original sin respuesta"));
+    }
+}
@@ -0,0 +1,181 @@
+package ipss.web2.examen.services;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido en memoria para los intercambios entre álbumes: por cada nombre de lámina
+// (normalizado), el conjunto de álbumes que la tienen repetida y el de los que no la tienen.
+// Los conjuntos son BitSet sobre una posición densa por álbum (los IDs son long). Cada álbum
+// guarda la versión de datos con que se indexó y se ignoran las actualizaciones más antiguas.
+// Lecturas concurrentes, escrituras exclusivas
+public class IntercambioIndex {
+
+    // Candidato de intercambio: láminas que el álbum consultado recibe y entrega
+    public record Candidato(long albumId, List<String> recibe, List<String> entrega) {
+
+        public int intercambios() {
+            return Math.min(recibe.size(), entrega.size());
+        }
+    }
+
+    private record EstadoAlbum(BitSet repetidas, BitSet faltantes) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> idsPorNombre = new HashMap<>();
+    private final List<String> nombres = new ArrayList<>();
+    private final List<BitSet> repetidasPorNombre = new ArrayList<>();
+    private final List<BitSet> faltantesPorNombre = new ArrayList<>();
+    // Posición de cada álbum indexado alguna vez, su ID y la última versión aplicada (se conservan
+    // al quitarlo del índice, para descartar una actualización anterior que llegue después)
+    private final Map<Long, Integer> posicionesPorAlbum = new HashMap<>();
+    private final List<Long> albumIds = new ArrayList<>();
+    private final List<Long> versiones = new ArrayList<>();
+    private final Map<Integer, EstadoAlbum> albumes = new HashMap<>();
+
+    // Reemplazar las repetidas y faltantes de un álbum; sin ninguna de las dos se quita del índice.
+    // Devuelve false (sin cambios) si el índice ya tiene una versión más nueva del álbum
+    public boolean actualizarAlbum(long albumId, long version, Collection<String> repetidas, Collection<String> faltantes) {
+        lock.writeLock().lock();
+        try {
+            int album = posicion(albumId);
+            if (version < versiones.get(album)) {
+                return false;
+            }
+            versiones.set(album, version);
+
+            EstadoAlbum anterior = albumes.remove(album);
+            if (anterior != null) {
+                anterior.repetidas().stream().forEach(nombre -> repetidasPorNombre.get(nombre).clear(album));
+                anterior.faltantes().stream().forEach(nombre -> faltantesPorNombre.get(nombre).clear(album));
+            }
+            if (repetidas.isEmpty() && faltantes.isEmpty()) {
+                return true;
+            }
+
+            EstadoAlbum estado = new EstadoAlbum(new BitSet(), new BitSet());
+            for (String nombre : repetidas) {
+                int id = idNombre(nombre);
+                estado.repetidas().set(id);
+                repetidasPorNombre.get(id).set(album);
+            }
+            for (String nombre : faltantes) {
+                int id = idNombre(nombre);
+                estado.faltantes().set(id);
+                faltantesPorNombre.get(id).set(album);
+            }
+            albumes.put(album, estado);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean quitarAlbum(long albumId, long version) {
+        return actualizarAlbum(albumId, version, List.of(), List.of());
+    }
+
+    // Álbumes con intercambio mutuo posible (cada uno tiene repetida alguna que al otro le falta),
+    // ordenados por la cantidad de intercambios uno a uno
+    public List<Candidato> buscarCandidatos(long albumId, int limite) {
+        lock.readLock().lock();
+        try {
+            Integer album = posicionesPorAlbum.get(albumId);
+            EstadoAlbum consultado = album == null ? null : albumes.get(album);
+            if (consultado == null || limite < 1) {
+                return List.of();
+            }
+
+            // recibe[b]: faltantes del consultado que b tiene repetidas; entrega[b]: al revés
+            int limiteAlbumes = albumIds.size();
+            int[] recibe = new int[limiteAlbumes];
+            int[] entrega = new int[limiteAlbumes];
+            contar(consultado.faltantes(), repetidasPorNombre, recibe);
+            contar(consultado.repetidas(), faltantesPorNombre, entrega);
+
+            // Los mejores 'limite' con un montículo de mínimos. Orden del ranking: más intercambios
+            // mutuos, luego más láminas en juego, luego ID menor
+            PriorityQueue<int[]> mejores = new PriorityQueue<>(limite + 1, Comparator
+                .<int[]>comparingInt(c -> Math.min(c[1], c[2]))
+                .thenComparingInt(c -> c[1] + c[2])
+                .thenComparing(c -> albumIds.get(c[0]), Comparator.reverseOrder()));
+            for (int otro = 0; otro < limiteAlbumes; otro++) {
+                if (otro == album || recibe[otro] == 0 || entrega[otro] == 0) {
+                    continue;
+                }
+                mejores.add(new int[] {otro, recibe[otro], entrega[otro]});
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+
+            List<Candidato> candidatos = new ArrayList<>(mejores.size());
+            for (int[] conteo : mejores) {
+                EstadoAlbum otro = albumes.get(conteo[0]);
+                candidatos.add(new Candidato(albumIds.get(conteo[0]),
+                    nombresDe(interseccion(consultado.faltantes(), otro.repetidas())),
+                    nombresDe(interseccion(consultado.repetidas(), otro.faltantes()))));
+            }
+            candidatos.sort(Comparator.comparingInt(Candidato::intercambios)
+                .thenComparingInt(c -> c.recibe().size() + c.entrega().size())
+                .reversed()
+                .thenComparingLong(Candidato::albumId));
+            return candidatos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int albumes() {
+        lock.readLock().lock();
+        try {
+            return albumes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int posicion(long albumId) {
+        return posicionesPorAlbum.computeIfAbsent(albumId, id -> {
+            albumIds.add(id);
+            versiones.add(Long.MIN_VALUE);
+            return albumIds.size() - 1;
+        });
+    }
+
+    private int idNombre(String nombre) {
+        return idsPorNombre.computeIfAbsent(CatalogoIndex.normalizar(nombre), normalizado -> {
+            nombres.add(nombre);
+            repetidasPorNombre.add(new BitSet());
+            faltantesPorNombre.add(new BitSet());
+            return nombres.size() - 1;
+        });
+    }
+
+    // Sumar, por cada lámina marcada en 'laminas', 1 a cada álbum de su conjunto en 'porNombre'
+    private static void contar(BitSet laminas, List<BitSet> porNombre, int[] conteos) {
+        for (int nombre = laminas.nextSetBit(0); nombre >= 0; nombre = laminas.nextSetBit(nombre + 1)) {
+            BitSet albumesConLamina = porNombre.get(nombre);
+            for (int otro = albumesConLamina.nextSetBit(0); otro >= 0; otro = albumesConLamina.nextSetBit(otro + 1)) {
+                conteos[otro]++;
+            }
+        }
+    }
+
+    private static BitSet interseccion(BitSet a, BitSet b) {
+        BitSet resultado = (BitSet) a.clone();
+        resultado.and(b);
+        return resultado;
+    }
+
+    private List<String> nombresDe(BitSet ids) {
+        return ids.stream().mapToObj(nombres::get).toList();
+    }
+}
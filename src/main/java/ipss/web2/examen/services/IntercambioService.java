@@ -0,0 +1,225 @@
+package ipss.web2.examen.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import ipss.web2.examen.dtos.IntercambioCandidatoDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.repositories.AlbumRepository;
+import ipss.web2.examen.repositories.LaminaJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Servicio de intercambios entre álbumes sobre el índice invertido en memoria (IntercambioIndex).
+// El índice se construye al iniciar la aplicación y se actualiza por álbum después de cada commit
+// que lo modifica, así la consulta no calcula el estado de ningún álbum. La actualización no corre
+// en el hilo de la petición (ni toma otra conexión mientras la petición tiene la suya): el listener
+// solo anota el álbum y un hilo propio relee los álbumes anotados, una vez por álbum aunque haya
+// varios commits seguidos. Reconstrucción y actualizaciones corren en ese mismo hilo, en orden.
+// Cada lectura lleva la versión de datos del álbum y el índice descarta las más antiguas. Si una
+// actualización falla el índice se reconstruye en la siguiente verificación (IntercambioReconstruccionJob),
+// y también cada app.intercambios.reconstruccion aunque no falle nada
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IntercambioService {
+
+    private final AlbumRepository albumRepository;
+    private final LaminaJdbcRepository laminaJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Álbumes con commits aún no aplicados al índice (sin repetidos)
+    private final Set<Long> pendientes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean programado = new AtomicBoolean();
+    private final AtomicBoolean reconstruccionProgramada = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("intercambios").daemon().factory());
+    private volatile IntercambioIndex indice = new IntercambioIndex();
+    private volatile boolean desactualizado;
+    private volatile long reconstruidoEn = System.nanoTime();
+
+    @Value("${app.intercambios.albumes-por-consulta:1000}")
+    private int albumesPorConsulta;
+
+    @Value("${app.intercambios.limite-defecto:20}")
+    private int limiteDefecto;
+
+    @Value("${app.intercambios.limite-maximo:100}")
+    private int limiteMaximo;
+
+    @Value("${app.intercambios.reconstruccion:PT6H}")
+    private Duration reconstruccion;
+
+    @PostConstruct
+    void iniciar() {
+        Gauge.builder("app.intercambios.pendientes", pendientes, Set::size)
+            .description("Álbumes con cambios confirmados aún no aplicados al índice de intercambios")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdownNow();
+    }
+
+    // Candidatos de intercambio mutuo para un álbum, ordenados por intercambios posibles
+    @Transactional(readOnly = true)
+    public List<IntercambioCandidatoDTO> buscarCandidatos(Long albumId, Integer limite) {
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum", "ID", albumId);
+        }
+        int limiteCandidatos = limite == null || limite < 1 ? limiteDefecto : Math.min(limite, limiteMaximo);
+
+        return indice.buscarCandidatos(albumId, limiteCandidatos).stream()
+            .map(c -> new IntercambioCandidatoDTO(c.albumId(), c.intercambios(), c.recibe(), c.entrega()))
+            .collect(Collectors.toList());
+    }
+
+    // Construir el índice al iniciar; la aplicación queda lista con el índice cargado
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        Future<?> tarea = programarReconstruccion();
+        try {
+            if (tarea != null) {
+                tarea.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("No se pudo construir el índice de intercambios", e.getCause());
+        }
+    }
+
+    // Reconstruir si una actualización falló o si pasó app.intercambios.reconstruccion
+    public void verificar() {
+        if (desactualizado || System.nanoTime() - reconstruidoEn >= reconstruccion.toNanos()) {
+            programarReconstruccion();
+        }
+    }
+
+    // Anotar el álbum recién confirmado; el hilo del índice lo relee contra la primaria
+    @TransactionalEventListener
+    public void alModificarAlbum(AlbumModificadoEvent evento) {
+        pendientes.add(evento.albumId());
+        if (programado.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::aplicarPendientes);
+            } catch (RejectedExecutionException e) {
+                programado.set(false);
+            }
+        }
+    }
+
+    public boolean desactualizado() {
+        return desactualizado;
+    }
+
+    private Future<?> programarReconstruccion() {
+        if (!reconstruccionProgramada.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            return executor.submit(this::reconstruir);
+        } catch (RejectedExecutionException e) {
+            reconstruccionProgramada.set(false);
+            return null;
+        }
+    }
+
+    // Cargar el índice completo en rangos de albumes-por-consulta IDs
+    private void reconstruir() {
+        long inicio = System.nanoTime();
+        desactualizado = false;
+        try {
+            IntercambioIndex nuevo = new IntercambioIndex();
+            long maxId = albumRepository.obtenerMaxId();
+            for (long desde = 1; desde <= maxId; desde += albumesPorConsulta) {
+                List<LaminaJdbcRepository.ConteoCatalogo> filas =
+                    laminaJdbcRepository.obtenerConteosCatalogo(desde, desde + albumesPorConsulta - 1);
+                filas.stream()
+                    .collect(Collectors.groupingBy(LaminaJdbcRepository.ConteoCatalogo::albumId,
+                        LinkedHashMap::new, Collectors.toList()))
+                    .forEach((albumId, conteos) -> indexar(nuevo, albumId, conteos.get(0).version(), conteos));
+            }
+            indice = nuevo;
+            reconstruidoEn = inicio;
+            log.info("Índice de intercambios construido: {} álbumes en {} ms",
+                nuevo.albumes(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            desactualizado = true;
+            log.error("Reconstrucción del índice de intercambios fallida, se reintenta en la siguiente verificación", e);
+        } finally {
+            reconstruccionProgramada.set(false);
+        }
+    }
+
+    // Releer cada álbum anotado en su propia transacción. Un álbum anotado de nuevo mientras se
+    // recorre se vuelve a leer en esta pasada o en la siguiente
+    private void aplicarPendientes() {
+        programado.set(false);
+        Iterator<Long> albumes = pendientes.iterator();
+        while (albumes.hasNext()) {
+            Long albumId = albumes.next();
+            albumes.remove();
+            try {
+                transactionTemplate.executeWithoutResult(estado -> actualizar(albumId));
+            } catch (RuntimeException e) {
+                desactualizado = true;
+                log.warn("No se pudo actualizar el álbum {} en el índice de intercambios: {}", albumId, e.getMessage());
+            }
+        }
+    }
+
+    // Sin filas (álbum inactivo o sin catálogo) la versión se lee aparte; si el álbum ya no existe
+    // (archivado) no hay nada que actualizar: su baja ya lo quitó del índice
+    private void actualizar(Long albumId) {
+        List<LaminaJdbcRepository.ConteoCatalogo> conteos = laminaJdbcRepository.obtenerConteosCatalogo(albumId, albumId);
+        if (!conteos.isEmpty()) {
+            indexar(indice, albumId, conteos.get(0).version(), conteos);
+            return;
+        }
+        albumRepository.findVersionById(albumId)
+            .ifPresent(version -> indice.quitarAlbum(albumId, version.version()));
+    }
+
+    // Repetidas: dos o más copias; faltantes: ninguna
+    private static void indexar(IntercambioIndex destino, Long albumId, long version,
+                                List<LaminaJdbcRepository.ConteoCatalogo> conteos) {
+        List<String> repetidas = new ArrayList<>();
+        List<String> faltantes = new ArrayList<>();
+        for (LaminaJdbcRepository.ConteoCatalogo conteo : conteos) {
+            if (conteo.cantidad() > 1) {
+                repetidas.add(conteo.nombre());
+            } else if (conteo.cantidad() == 0) {
+                faltantes.add(conteo.nombre());
+            }
+        }
+        if (!destino.actualizarAlbum(albumId, version, repetidas, faltantes)) {
+            log.debug("Actualización del álbum {} con versión {} descartada en el índice de intercambios", albumId, version);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.LaminasResumenDTO;
+import ipss.web2.examen.dtos.ReconciliacionConteoDTO;
+import ipss.web2.examen.models.LaminaConteo;
+import ipss.web2.examen.repositories.LaminaConteoRepository;
+import ipss.web2.examen.repositories.LaminaJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Servicio que mantiene los contadores materializados de copias por álbum y lámina de catálogo.
+// Se invoca desde LaminaService dentro de la misma transacción que modifica la tabla lamina.
+// Cada cambio publica un LaminasConteoEvent (progreso en vivo por SSE, ver ProgresoAlbumService)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class LaminaConteoService {
+
+    private final LaminaConteoRepository laminaConteoRepository;
+    private final LaminaJdbcRepository laminaJdbcRepository;
+    private final AlbumVersionService albumVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Sumar (delta > 0) o restar (delta < 0) copias a una lámina del catálogo
+    public void registrarCambio(Long albumId, Long catalogoId, int delta) {
+        if (delta != 0) {
+            laminaConteoRepository.sumarCantidad(albumId, catalogoId, delta);
+            eventPublisher.publishEvent(new LaminasConteoEvent(albumId, Map.of(catalogoId, delta)));
+        }
+    }
+
+    // Sumar en lote las copias nuevas de varias láminas del catálogo (carga masiva)
+    public void registrarAltas(Long albumId, Map<Long, Integer> altasPorCatalogo) {
+        if (!altasPorCatalogo.isEmpty()) {
+            laminaJdbcRepository.sumarConteosEnLote(albumId, altasPorCatalogo);
+            eventPublisher.publishEvent(new LaminasConteoEvent(albumId, Map.copyOf(altasPorCatalogo)));
+        }
+    }
+
+    // Obtener la cantidad de copias activas por lámina de catálogo
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> obtenerConteos(Long albumId) {
+        return laminaConteoRepository.findByAlbumId(albumId)
+            .stream()
+            .collect(Collectors.toMap(LaminaConteo::getCatalogoId, LaminaConteo::getCantidad));
+    }
+
+    // Copias de una lámina del catálogo en la transacción actual; después de registrarCambio el
+    // contador queda bloqueado hasta el commit, así que incluye la copia recién sumada
+    public int obtenerCantidad(Long albumId, Long catalogoId) {
+        return laminaConteoRepository.obtenerConteos(albumId, List.of(catalogoId)).stream()
+            .findFirst()
+            .map(conteo -> conteo.getCantidad().intValue())
+            .orElse(0);
+    }
+
+    // Obtener los totales del álbum sin recorrer la tabla lamina
+    @Transactional(readOnly = true)
+    public LaminasResumenDTO obtenerResumen(Long albumId) {
+        LaminaConteoRepository.ResumenConteo resumen = laminaConteoRepository.obtenerResumen(albumId);
+        int catalogoTotal = resumen.getCatalogoTotal().intValue();
+        int poseidasDistintas = resumen.getPoseidasDistintas().intValue();
+
+        return new LaminasResumenDTO(
+            albumId,
+            catalogoTotal,
+            resumen.getTotalLaminas().intValue(),
+            poseidasDistintas,
+            catalogoTotal - poseidasDistintas,
+            resumen.getRepetidasTotal().intValue()
+        );
+    }
+
+    // Recalcular los contadores de un álbum desde la tabla lamina y corregir el desvío. Los
+    // contadores se bloquean antes de contar: un alta o baja concurrente espera al commit y se
+    // suma sobre el valor corregido, en vez de perderse al fijar el valor absoluto
+    public ReconciliacionConteoDTO reconciliar(Long albumId) {
+        Map<Long, Integer> actuales = laminaConteoRepository.bloquearPorAlbumId(albumId)
+            .stream()
+            .collect(Collectors.toMap(LaminaConteo::getCatalogoId, LaminaConteo::getCantidad));
+        int revisadas = 0;
+        int conDesvio = 0;
+        int desvioTotal = 0;
+        Map<Long, Integer> correcciones = new HashMap<>();
+
+        for (LaminaConteoRepository.ConteoReal real : laminaConteoRepository.calcularConteoReal(albumId)) {
+            revisadas++;
+            Long catalogoId = real.getCatalogoId().longValue();
+            int esperado = real.getCantidad().intValue();
+            int registrado = actuales.getOrDefault(catalogoId, 0);
+
+            if (esperado != registrado) {
+                conDesvio++;
+                desvioTotal += Math.abs(esperado - registrado);
+                laminaConteoRepository.fijarCantidad(albumId, catalogoId, esperado);
+                correcciones.put(catalogoId, esperado - registrado);
+            }
+        }
+
+        if (conDesvio > 0) {
+            log.warn("Desvío en contadores del álbum {}: {} entradas corregidas (desvío total {})",
+                albumId, conDesvio, desvioTotal);
+            albumVersionService.incrementar(albumId);
+            eventPublisher.publishEvent(new LaminasConteoEvent(albumId, correcciones));
+        }
+
+        return new ReconciliacionConteoDTO(albumId, revisadas, conDesvio, desvioTotal);
+    }
+}
@@ -3,24 +3,34 @@ package ipss.web2.examen.services;
 import ipss.web2.examen.dtos.LaminaCargaResponseDTO;
 import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
 import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
-import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
 import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
 import ipss.web2.examen.dtos.LaminaRequestDTO;
 import ipss.web2.examen.dtos.LaminaResponseDTO;
 import ipss.web2.examen.dtos.LaminasEstadoDTO;
+import ipss.web2.examen.dtos.LaminasResumenDTO;
+import ipss.web2.examen.dtos.PaginaDTO;
+import ipss.web2.examen.dtos.ReconciliacionConteoDTO;
 import ipss.web2.examen.exceptions.ResourceNotFoundException;
 import ipss.web2.examen.mappers.LaminaMapper;
+import ipss.web2.examen.metrics.LaminaMetricas;
 import ipss.web2.examen.models.Album;
 import ipss.web2.examen.models.Lamina;
-import ipss.web2.examen.models.LaminaCatalogo;
 import ipss.web2.examen.repositories.AlbumRepository;
 import ipss.web2.examen.repositories.LaminaCatalogoRepository;
+import ipss.web2.examen.repositories.LaminaJdbcRepository;
 import ipss.web2.examen.repositories.LaminaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,36 +38,32 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("null")
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class LaminaService {
     
     private final LaminaRepository laminaRepository;
+    private final LaminaJdbcRepository laminaJdbcRepository;
     private final LaminaCatalogoRepository laminaCatalogoRepository;
     private final AlbumRepository albumRepository;
+    private final LaminaConteoService laminaConteoService;
+    private final CatalogoCacheService catalogoCacheService;
+    private final AlbumVersionService albumVersionService;
     private final LaminaMapper laminaMapper;
+    private final LaminaMetricas laminaMetricas;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
     
-    // Crear catálogo de láminas para un álbum
-    public List<LaminaCatalogoResponseDTO> crearCatalogo(Long albumId, List<LaminaCatalogoRequestDTO> laminasCatalogo) {
-        // Buscar el álbum
-        Album album = albumRepository.findById(albumId)
-                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
-        
-        // Validar que no exista catálogo previo
-        long existentes = laminaCatalogoRepository.countByAlbumAndActiveTrue(album);
-        if (existentes > 0) {
-            throw new RuntimeException("Este álbum ya tiene un catálogo de láminas definido");
-        }
-        
-        return laminasCatalogo.stream()
-            .map(dto -> {
-                LaminaCatalogo catalogo = laminaMapper.toCatalogoEntity(dto, album);
-                return laminaCatalogoRepository.save(catalogo);
-            })
-            .map(laminaMapper::toCatalogoResponseDTO)
-            .collect(Collectors.toList());
-    }
+    @Value("${app.laminas.carga-masiva.tamano-bloque:500}")
+    private int tamanoBloque;
+    
+    @Value("${app.paginacion.tamano-defecto:50}")
+    private int tamanoPaginaDefecto;
+    
+    @Value("${app.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
     
     // Agregar una lámina validando catálogo y detectando repetidas
     public LaminaCargaResponseDTO agregarLamina(Long albumId, LaminaRequestDTO laminaDTO) {
@@ -65,32 +71,31 @@ public class LaminaService {
         Album album = albumRepository.findById(albumId)
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
         
-        // Validar que el catálogo exista
-        List<LaminaCatalogo> catalogo = laminaCatalogoRepository.findByAlbumAndActiveTrue(album);
-        if (catalogo.isEmpty()) {
-            throw new RuntimeException("Debe crear un catálogo de láminas primero");
-        }
+        // Validar que el catálogo exista (índice en caché)
+        CatalogoIndex catalogo = validarExisteCatalogo(album);
         
         // Buscar si la lámina existe en el catálogo (OBLIGATORIO)
-        Optional<LaminaCatalogo> enCatalogo = laminaCatalogoRepository
-            .findByAlbumAndNombreAndActiveTrue(album, laminaDTO.getNombre());
+        Optional<CatalogoIndex.Entrada> enCatalogo = catalogo.buscar(laminaDTO.getNombre());
         
         // VALIDACIÓN: Lámina DEBE estar en catálogo
         if (enCatalogo.isEmpty()) {
+            laminaMetricas.registrarLaminas(albumId, LaminaMetricas.RECHAZADA, 1);
             throw new RuntimeException(
                 "❌ ERROR: La lámina '" + laminaDTO.getNombre() + "' NO existe en el catálogo del álbum. " +
                 "Solo puedes agregar láminas que están definidas en el catálogo."
             );
         }
         
-        // Buscar si ya existen copias de esta lámina
-        List<Lamina> laminasExistentes = laminaRepository.findByAlbumAndNombreAndActiveTrue(album, laminaDTO.getNombre());
-        boolean esRepetida = !laminasExistentes.isEmpty();
-        int cantidadTotal = laminasExistentes.size() + 1;
-        
         // Crear y guardar la lámina
         Lamina lamina = laminaMapper.toEntity(laminaDTO, album);
         Lamina laminaGuardada = laminaRepository.save(lamina);
+        laminaConteoService.registrarCambio(album.getId(), enCatalogo.get().id(), 1);
+        albumVersionService.incrementar(albumId);
+        
+        // Copias de la entrada del catálogo (como la carga masiva): "goku" cuenta junto a "Goku"
+        int cantidadTotal = laminaConteoService.obtenerCantidad(album.getId(), enCatalogo.get().id());
+        boolean esRepetida = cantidadTotal > 1;
+        laminaMetricas.registrarLaminas(albumId, esRepetida ? LaminaMetricas.REPETIDA : LaminaMetricas.ACEPTADA, 1);
         
         return new LaminaCargaResponseDTO(
             esRepetida,
@@ -103,36 +108,29 @@ public class LaminaService {
     // Obtener estado de láminas: poseídas, faltantes y repetidas
     @Transactional(readOnly = true)
     public LaminasEstadoDTO obtenerEstado(Long albumId) {
-        // Buscar el álbum
-        Album album = albumRepository.findById(albumId)
-                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
-        
-        // Obtener catálogo
-        List<LaminaCatalogo> catalogoCompleto = laminaCatalogoRepository.findByAlbumAndActiveTrue(album);
+        // Validar que el álbum existe
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum", "ID", albumId);
+        }
         
-        // Obtener láminas poseídas
-        List<Lamina> laminasPoseidas = laminaRepository.findByAlbumAndActiveTrue(album);
+        // Obtener catálogo (proyectado a DTO)
+        List<LaminaCatalogoResponseDTO> catalogoCompleto = laminaCatalogoRepository.findResponseByAlbumIdAndActiveTrue(albumId);
         
-        // Crear set de nombres poseídos
-        Set<String> nombresPoseidos = laminasPoseidas.stream()
-            .map(Lamina::getNombre)
-            .collect(Collectors.toSet());
+        // Copias activas por lámina de catálogo (contadores materializados)
+        Map<Long, Integer> conteos = laminaConteoService.obtenerConteos(albumId);
         
-        // LÁMINAS FALTANTES: en catálogo pero no poseídas
+        // LÁMINAS FALTANTES: en catálogo pero sin copias
         List<LaminaCatalogoResponseDTO> laminasFaltantes = catalogoCompleto.stream()
-            .filter(catalogo -> !nombresPoseidos.contains(catalogo.getNombre()))
-            .map(laminaMapper::toCatalogoResponseDTO)
+            .filter(catalogo -> conteos.getOrDefault(catalogo.id(), 0) == 0)
             .collect(Collectors.toList());
         
-        // LÁMINAS REPETIDAS: contar cuántas copias de cada una
-        Map<String, Integer> laminasRepetidas = laminasPoseidas.stream()
-            .collect(Collectors.groupingBy(
-                Lamina::getNombre,
-                Collectors.summingInt(l -> 1)
-            ))
-            .entrySet().stream()
-            .filter(e -> e.getValue() > 1)
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        // LÁMINAS REPETIDAS: más de una copia según el contador
+        Map<String, Integer> laminasRepetidas = catalogoCompleto.stream()
+            .filter(catalogo -> conteos.getOrDefault(catalogo.id(), 0) > 1)
+            .collect(Collectors.toMap(LaminaCatalogoResponseDTO::nombre, catalogo -> conteos.get(catalogo.id())));
+        
+        // Obtener láminas poseídas (proyectadas a DTO con los datos básicos del álbum)
+        List<LaminaResponseDTO> laminasPoseidas = laminaRepository.findResponseByAlbumIdAndActiveTrue(albumId);
         
         // Calcular totales
         int totalLaminas = laminasPoseidas.size();
@@ -141,56 +139,85 @@ public class LaminaService {
             .mapToInt(Integer::intValue)
             .sum();
         
-        List<LaminaResponseDTO> laminasDTO = laminasPoseidas.stream()
-            .map(laminaMapper::toResponseDTO)
-            .collect(Collectors.toList());
-        
-        return new LaminasEstadoDTO(laminasDTO, laminasFaltantes, laminasRepetidas, totalLaminas, laminasFaltantesTotal, laminasRepetidastotal);
+        return new LaminasEstadoDTO(laminasPoseidas, laminasFaltantes, laminasRepetidas, totalLaminas, laminasFaltantesTotal, laminasRepetidastotal);
+    }
+    
+    // Obtener solo los totales del álbum desde los contadores (sin recorrer la tabla lamina)
+    @Transactional(readOnly = true)
+    public LaminasResumenDTO obtenerResumen(Long albumId) {
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum", "ID", albumId);
+        }
+        return laminaConteoService.obtenerResumen(albumId);
+    }
+    
+    // Reconstruir los contadores del álbum desde la tabla lamina y reportar el desvío
+    public ReconciliacionConteoDTO reconciliarConteo(Long albumId) {
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum", "ID", albumId);
+        }
+        return laminaConteoService.reconciliar(albumId);
     }
     
     // Obtener catálogo de láminas para un álbum
+    @Transactional(readOnly = true)
     public List<LaminaCatalogoResponseDTO> obtenerCatalogo(Long albumId) {
-        // Buscar el álbum
-        Album album = albumRepository.findById(albumId)
-                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
+        // Validar que el álbum existe
+        if (!albumRepository.existsById(albumId)) {
+            throw new ResourceNotFoundException("Álbum", "ID", albumId);
+        }
         
-        List<LaminaCatalogo> catalogo = laminaCatalogoRepository.findByAlbumAndActiveTrue(album);
-        return catalogo.stream()
-            .map(laminaMapper::toCatalogoResponseDTO)
-            .collect(Collectors.toList());
+        return laminaCatalogoRepository.findResponseByAlbumIdAndActiveTrue(albumId);
     }
     
     // Crear una nueva lámina
     public LaminaResponseDTO crearLamina(LaminaRequestDTO requestDTO, Album album) {
         Lamina lamina = laminaMapper.toEntity(requestDTO, album);
         Lamina laminaGuardada = laminaRepository.save(lamina);
+        ajustarConteo(album, laminaGuardada.getNombre(), 1);
+        albumVersionService.incrementar(album.getId());
         return laminaMapper.toResponseDTO(laminaGuardada);
     }
     
     // Obtener una lámina por ID
     @Transactional(readOnly = true)
     public LaminaResponseDTO obtenerLaminaPorId(Long id) {
-        Lamina lamina = laminaRepository.findById(id)
+        return laminaRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lámina", "ID", id));
-        return laminaMapper.toResponseDTO(lamina);
     }
     
-    // Obtener todas las láminas activas
+    // Obtener una página de láminas activas (paginación por cursor sobre el ID)
     @Transactional(readOnly = true)
-    public List<LaminaResponseDTO> obtenerTodasLasLaminas() {
-        return laminaRepository.findByActiveTrue()
-                .stream()
-                .map(laminaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public PaginaDTO<LaminaResponseDTO> obtenerTodasLasLaminas(String cursor, Integer tamano) {
+        int tamanoPagina = limitarTamanoPagina(tamano);
+        List<LaminaResponseDTO> laminas = laminaRepository.findResponseByActiveTrueAndIdGreaterThan(
+                CursorPaginacion.decodificar(cursor), Limit.of(tamanoPagina + 1));
+        return construirPagina(laminas, tamanoPagina);
     }
     
-    // Obtener láminas por álbum
+    // Obtener una página de láminas por álbum (paginación por cursor sobre el ID)
     @Transactional(readOnly = true)
-    public List<LaminaResponseDTO> obtenerLaminasPorAlbum(Long albumId) {
-        return laminaRepository.findByAlbumId(albumId)
-                .stream()
-                .map(laminaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public PaginaDTO<LaminaResponseDTO> obtenerLaminasPorAlbum(Long albumId, String cursor, Integer tamano) {
+        int tamanoPagina = limitarTamanoPagina(tamano);
+        List<LaminaResponseDTO> laminas = laminaRepository.findResponseByAlbumIdAndIdGreaterThan(
+                albumId, CursorPaginacion.decodificar(cursor), Limit.of(tamanoPagina + 1));
+        return construirPagina(laminas, tamanoPagina);
+    }
+    
+    // Aplicar el tamaño por defecto y el máximo permitido
+    private int limitarTamanoPagina(Integer tamano) {
+        if (tamano == null || tamano < 1) {
+            return tamanoPaginaDefecto;
+        }
+        return Math.min(tamano, tamanoPaginaMaximo);
+    }
+    
+    // Construir la página: se pide una fila extra para saber si hay página siguiente
+    private PaginaDTO<LaminaResponseDTO> construirPagina(List<LaminaResponseDTO> laminas, int tamanoPagina) {
+        boolean hayMas = laminas.size() > tamanoPagina;
+        List<LaminaResponseDTO> items = hayMas ? laminas.subList(0, tamanoPagina) : laminas;
+        String siguienteCursor = hayMas ? CursorPaginacion.codificar(items.get(items.size() - 1).getId()) : null;
+        return new PaginaDTO<>(items, siguienteCursor, items.size(), hayMas);
     }
     
     // Actualizar una lámina
@@ -202,8 +229,25 @@ public class LaminaService {
         Album album = albumRepository.findById(requestDTO.getAlbumId())
                 .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", requestDTO.getAlbumId()));
         
+        Album albumAnterior = lamina.getAlbum();
+        String nombreAnterior = lamina.getNombre();
+        
         laminaMapper.updateEntity(requestDTO, lamina, album);
         Lamina laminaActualizada = laminaRepository.save(lamina);
+        
+        // Mover la copia entre contadores si cambió el nombre o el álbum
+        boolean cambioContador = !albumAnterior.getId().equals(album.getId())
+            || !nombreAnterior.equals(laminaActualizada.getNombre());
+        if (Boolean.TRUE.equals(laminaActualizada.getActive()) && cambioContador) {
+            ajustarConteo(albumAnterior, nombreAnterior, -1);
+            ajustarConteo(album, laminaActualizada.getNombre(), 1);
+        }
+        
+        albumVersionService.incrementar(album.getId());
+        if (!albumAnterior.getId().equals(album.getId())) {
+            albumVersionService.incrementar(albumAnterior.getId());
+        }
+        
         return laminaMapper.toResponseDTO(laminaActualizada);
     }
     
@@ -212,73 +256,190 @@ public class LaminaService {
         Lamina lamina = laminaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lámina", "ID", id));
         
+        boolean estabaActiva = Boolean.TRUE.equals(lamina.getActive());
         lamina.setActive(false);
         laminaRepository.save(lamina);
+        
+        if (estabaActiva) {
+            ajustarConteo(lamina.getAlbum(), lamina.getNombre(), -1);
+            albumVersionService.incrementar(lamina.getAlbum().getId());
+        }
     }
     
-    // Agregar láminas en masa con validaciones
-    @Transactional
+    // Ajustar el contador de la lámina de catálogo con ese nombre, si existe en el catálogo del álbum
+    private void ajustarConteo(Album album, String nombre, int delta) {
+        catalogoCacheService.obtenerIndice(album.getId()).buscar(nombre)
+            .ifPresent(entrada -> laminaConteoService.registrarCambio(album.getId(), entrada.id(), delta));
+    }
+    
+    // Agregar láminas en masa con validaciones, en bloques de tamano-bloque láminas:
+    // cada bloque se confirma por separado, así la memoria y los bloqueos no crecen con la carga
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<LaminaCargueMasivoResponseDTO> agregarLaminasMasivo(LaminaCargueMasivoRequestDTO cargueMasivo) {
-        // Buscar el álbum
-        Album album = albumRepository.findById(cargueMasivo.albumId())
-                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", cargueMasivo.albumId()));
-        
-        // Validar que existe catálogo
-        List<LaminaCatalogo> catalogo = validarExisteCatalogo(album);
+        // Validar álbum y catálogo antes del primer bloque
+        validarCargaMasiva(cargueMasivo.albumId());
         
-        List<LaminaCargueMasivoResponseDTO> resultados = new ArrayList<>();
+        List<LaminaRequestDTO> laminas = cargueMasivo.laminas();
+        laminaMetricas.registrarCargaMasiva(cargueMasivo.albumId(), "json", laminas.size());
         
-        for (LaminaRequestDTO laminaDTO : cargueMasivo.laminas()) {
-            LaminaCargueMasivoResponseDTO resultado = procesarLaminaIndividual(laminaDTO, album, catalogo);
-            resultados.add(resultado);
+        List<LaminaCargueMasivoResponseDTO> resultados = new ArrayList<>(laminas.size());
+        int numeroBloque = 1;
+        for (int desde = 0; desde < laminas.size(); desde += tamanoBloque) {
+            List<LaminaRequestDTO> bloque = laminas.subList(desde, Math.min(desde + tamanoBloque, laminas.size()));
+            resultados.addAll(agregarBloqueMasivo(cargueMasivo.albumId(), bloque, numeroBloque++));
         }
-        
         return resultados;
     }
     
+    // Validar que el álbum y su catálogo existen antes de una carga masiva en streaming
+    // (no readOnly: el catálogo que se carga en caché valida las escrituras, ver CatalogoCacheService)
+    public void validarCargaMasiva(Long albumId) {
+        Album album = albumRepository.findById(albumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
+        validarExisteCatalogo(album);
+    }
+    
+    // Agregar un bloque de una carga masiva en su propia transacción (JSON, NDJSON y jobs).
+    // Al confirmar se vacía el contexto de persistencia; si el bloque falla solo se revierte
+    // ese bloque y sus láminas se informan como no agregadas
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<LaminaCargueMasivoResponseDTO> agregarBloqueMasivo(Long albumId, List<LaminaRequestDTO> laminas, int numeroBloque) {
+        List<LaminaCargueMasivoResponseDTO> resultados;
+        try {
+            resultados = transactionTemplate.execute(estado -> {
+                Album album = albumRepository.findById(albumId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId));
+                List<LaminaCargueMasivoResponseDTO> procesadas = procesarLote(laminas, album, validarExisteCatalogo(album));
+                entityManager.flush();
+                entityManager.clear();
+                return procesadas;
+            });
+        } catch (ResourceNotFoundException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Bloque {} de la carga masiva del álbum {} revertido ({} láminas): {}",
+                numeroBloque, albumId, laminas.size(), e.getMessage());
+            laminaMetricas.registrarLaminas(albumId, LaminaMetricas.RECHAZADA, laminas.size());
+            String mensaje = "❌ NO AGREGADA: Bloque " + numeroBloque + " revertido (" + causa(e) + ")";
+            return laminas.stream()
+                .map(dto -> construirResultadoError(dto.getNombre(), mensaje).conBloque(numeroBloque))
+                .collect(Collectors.toList());
+        }
+        
+        // Métricas solo del bloque confirmado: uno revertido ya se contó entero como rechazado
+        registrarResultados(albumId, resultados);
+        return resultados.stream()
+            .map(resultado -> resultado.conBloque(numeroBloque))
+            .collect(Collectors.toList());
+    }
+    
+    // Sumar a las métricas las láminas aceptadas, repetidas y rechazadas de un bloque confirmado
+    private void registrarResultados(Long albumId, List<LaminaCargueMasivoResponseDTO> resultados) {
+        int aceptadas = 0;
+        int repetidas = 0;
+        for (LaminaCargueMasivoResponseDTO resultado : resultados) {
+            if (Boolean.TRUE.equals(resultado.esRepetida())) {
+                repetidas++;
+            } else if (Boolean.TRUE.equals(resultado.estaEnCatalogo())) {
+                aceptadas++;
+            }
+        }
+        laminaMetricas.registrarLaminas(albumId, LaminaMetricas.ACEPTADA, aceptadas);
+        laminaMetricas.registrarLaminas(albumId, LaminaMetricas.REPETIDA, repetidas);
+        laminaMetricas.registrarLaminas(albumId, LaminaMetricas.RECHAZADA, resultados.size() - aceptadas - repetidas);
+    }
+    
+    // Mensaje de la causa raíz de un bloque fallido
+    private static String causa(Throwable e) {
+        Throwable raiz = e;
+        while (raiz.getCause() != null && raiz.getCause() != raiz) {
+            raiz = raiz.getCause();
+        }
+        return raiz.getMessage() != null ? raiz.getMessage() : raiz.getClass().getSimpleName();
+    }
+    
     // Validar que el catálogo de láminas existe para el álbum
-    private List<LaminaCatalogo> validarExisteCatalogo(Album album) {
-        List<LaminaCatalogo> catalogo = laminaCatalogoRepository.findByAlbumAndActiveTrue(album);
+    private CatalogoIndex validarExisteCatalogo(Album album) {
+        CatalogoIndex catalogo = laminaMetricas.fase("catalogo", album.getId())
+            .record(() -> catalogoCacheService.obtenerIndice(album.getId()));
         if (catalogo.isEmpty()) {
             throw new RuntimeException("Debe crear un catálogo de láminas primero");
         }
         return catalogo;
     }
     
-    // Procesar una lámina individual en la carga masiva
-    private LaminaCargueMasivoResponseDTO procesarLaminaIndividual(
-            LaminaRequestDTO laminaDTO, 
+    // Procesar un lote de la carga masiva: una consulta agrupada para las copias existentes
+    // y un insert JDBC por lotes para todas las láminas aceptadas
+    private List<LaminaCargueMasivoResponseDTO> procesarLote(
+            List<LaminaRequestDTO> laminasDTO, 
             Album album, 
-            List<LaminaCatalogo> catalogo) {
-        try {
-            // Verificar si está en catálogo
-            boolean estaEnCatalogo = catalogo.stream()
-                .anyMatch(cat -> cat.getNombre().equalsIgnoreCase(laminaDTO.getNombre()));
+            CatalogoIndex catalogo) {
+        List<LaminaRequestDTO> aceptadas = laminasDTO.stream()
+            .filter(dto -> catalogo.contiene(dto.getNombre()))
+            .collect(Collectors.toList());
+        
+        Map<String, Integer> copiasPorNombre = laminaMetricas.fase("copias", album.getId())
+            .record(() -> contarCopiasExistentes(album, aceptadas));
+        
+        List<LaminaCargueMasivoResponseDTO> resultados = new ArrayList<>(laminasDTO.size());
+        List<LaminaPendiente> pendientes = new ArrayList<>(aceptadas.size());
+        Map<Long, Integer> altasPorCatalogo = new HashMap<>();
+        
+        for (LaminaRequestDTO laminaDTO : laminasDTO) {
+            Optional<CatalogoIndex.Entrada> enCatalogo = catalogo.buscar(laminaDTO.getNombre());
             
-            if (!estaEnCatalogo) {
-                return construirResultadoError(laminaDTO.getNombre(), 
-                    "❌ NO AGREGADA: No está en el catálogo");
+            if (enCatalogo.isEmpty()) {
+                resultados.add(construirResultadoError(laminaDTO.getNombre(), 
+                    "❌ NO AGREGADA: No está en el catálogo"));
+                continue;
             }
             
-            // Buscar láminas existentes con el mismo nombre
-            List<Lamina> laminasExistentes = laminaRepository
-                .findByAlbumAndNombreAndActiveTrue(album, laminaDTO.getNombre());
-            
-            boolean esRepetida = !laminasExistentes.isEmpty();
-            
-            // Crear y guardar la lámina
-            Lamina lamina = laminaMapper.toEntity(laminaDTO, album);
-            Lamina laminaGuardada = laminaRepository.save(lamina);
-            
-            int cantidadTotal = laminasExistentes.size() + 1;
-            
-            return construirResultadoExitoso(laminaGuardada, esRepetida, cantidadTotal);
-            
-        } catch (Exception e) {
-            return construirResultadoError(laminaDTO.getNombre(), "❌ ERROR: " + e.getMessage());
+            // Las copias de la misma lámina dentro del lote también cuentan como repetidas
+            int cantidadTotal = copiasPorNombre.merge(CatalogoIndex.normalizar(laminaDTO.getNombre()), 1, Integer::sum);
+            altasPorCatalogo.merge(enCatalogo.get().id(), 1, Integer::sum);
+            pendientes.add(new LaminaPendiente(resultados.size(), laminaMapper.toEntity(laminaDTO, album), cantidadTotal));
+            resultados.add(null);
+        }
+        
+        laminaMetricas.fase("insercion", album.getId()).record(() -> laminaJdbcRepository.insertarEnLote(
+            pendientes.stream()
+                .map(LaminaPendiente::lamina)
+                .collect(Collectors.toList())));
+        laminaMetricas.fase("conteo", album.getId())
+            .record(() -> laminaConteoService.registrarAltas(album.getId(), altasPorCatalogo));
+        if (!pendientes.isEmpty()) {
+            albumVersionService.incrementar(album.getId());
         }
+        
+        for (LaminaPendiente pendiente : pendientes) {
+            resultados.set(pendiente.posicion(), construirResultadoExitoso(
+                pendiente.lamina(), pendiente.cantidadTotal() > 1, pendiente.cantidadTotal()));
+        }
+        
+        return resultados;
+    }
+    
+    // Contar las copias activas ya guardadas de cada lámina del lote (una sola consulta)
+    private Map<String, Integer> contarCopiasExistentes(Album album, List<LaminaRequestDTO> laminasDTO) {
+        Map<String, Integer> copiasPorNombre = new HashMap<>();
+        if (laminasDTO.isEmpty()) {
+            return copiasPorNombre;
+        }
+        
+        Set<String> nombres = laminasDTO.stream()
+            .map(LaminaRequestDTO::getNombre)
+            .collect(Collectors.toSet());
+        
+        laminaRepository.contarCopiasPorNombre(album, nombres)
+            .forEach(conteo -> copiasPorNombre.merge(
+                CatalogoIndex.normalizar(conteo.getNombre()), conteo.getCantidad().intValue(), Integer::sum));
+        
+        return copiasPorNombre;
     }
     
+    // Lámina aceptada en la carga masiva, a la espera del insert por lotes
+    private record LaminaPendiente(int posicion, Lamina lamina, int cantidadTotal) {}
+    
     // Construir respuesta de error para carga masiva
     private LaminaCargueMasivoResponseDTO construirResultadoError(String nombre, String mensaje) {
         return new LaminaCargueMasivoResponseDTO(
@@ -287,7 +448,8 @@ public class LaminaService {
             false,
             0,
             false,
-            mensaje
+            mensaje,
+            null
         );
     }
     
@@ -306,7 +468,8 @@ public class LaminaService {
             esRepetida,
             cantidadTotal,
             true,
-            estado
+            estado,
+            null
         );
     }
 }
@@ -0,0 +1,7 @@
+package ipss.web2.examen.services;
+
+import java.util.Map;
+
+// Evento publicado dentro de la transacción que cambió los contadores de copias de un álbum
+// (ver LaminaConteoService): cuánto cambió cada lámina de catálogo. Escucharlo con AFTER_COMMIT
+public record LaminasConteoEvent(Long albumId, Map<Long, Integer> deltasPorCatalogo) {}
@@ -0,0 +1,129 @@
+package ipss.web2.examen.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ipss.web2.examen.config.LimiteTasaProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cubetas de tokens por cliente (toda la API) y por cliente y endpoint (ver LimiteTasaInterceptor).
+// Cada cubeta es un único AtomicLong con el instante teórico en que volvería a estar llena (GCRA):
+// consumir es un compareAndSet y la recarga sale del reloj, sin hilos ni locks
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LimiteTasaProperties.class)
+public class LimitadorTasa {
+
+    public static final String MOTIVO_CLIENTE = "cliente";
+    public static final String MOTIVO_ENDPOINT = "endpoint";
+
+    // Resultado de una petición: si se rechaza, la cubeta que la rechazó y cuánto esperar
+    public record Resultado(boolean permitido, String motivo, long esperaNanos) {
+
+        private static final Resultado PERMITIDO = new Resultado(true, null, 0);
+    }
+
+    private final LimiteTasaProperties propiedades;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, Cubeta> cubetas;
+    private Map<String, Integer> costos;
+
+    @PostConstruct
+    void iniciar() {
+        cubetas = Caffeine.newBuilder()
+            .maximumSize(propiedades.cubetasMaximas())
+            .expireAfterAccess(propiedades.inactividad())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cubetas, "limite.cubetas");
+
+        costos = new HashMap<>();
+        for (LimiteTasaProperties.Costo costo : propiedades.costos()) {
+            costos.put(endpoint(costo.metodo(), costo.ruta()), Math.max(1, costo.costo()));
+        }
+    }
+
+    public boolean isHabilitado() {
+        return propiedades.habilitado();
+    }
+
+    // Costo de un endpoint ("GET /api/laminas"), 1 si no está configurado
+    public int costo(String endpoint) {
+        return costos.getOrDefault(endpoint, 1);
+    }
+
+    // Consumir 'costo' de la cubeta del cliente y de la del endpoint. Si la segunda rechaza,
+    // se devuelve lo consumido de la primera
+    public Resultado consumir(String cliente, String endpoint, int costo) {
+        long ahora = System.nanoTime();
+        Cubeta general = cubetas.get(cliente, clave ->
+            new Cubeta(propiedades.capacidad(), propiedades.recargaPorSegundo(), ahora));
+        long espera = general.consumir(costo, ahora);
+        if (espera > 0) {
+            return new Resultado(false, MOTIVO_CLIENTE, espera);
+        }
+
+        Cubeta porEndpoint = cubetas.get(cliente + '|' + endpoint, clave ->
+            new Cubeta(propiedades.capacidadEndpoint(), propiedades.recargaEndpointPorSegundo(), ahora));
+        espera = porEndpoint.consumir(costo, ahora);
+        if (espera > 0) {
+            general.devolver(costo);
+            return new Resultado(false, MOTIVO_ENDPOINT, espera);
+        }
+        return Resultado.PERMITIDO;
+    }
+
+    public static String endpoint(String metodo, String ruta) {
+        return metodo.toUpperCase(Locale.ROOT) + ' ' + ruta;
+    }
+
+    // Cubeta de tokens como GCRA: 'lleno' es el instante (nanoTime) en que la cubeta tendría de
+    // nuevo todos sus tokens. Consumir c tokens lo adelanta c intervalos de recarga; se rechaza
+    // si quedaría más de 'capacidad' intervalos en el futuro
+    static final class Cubeta {
+
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+        private final int capacidad;
+        private final AtomicLong lleno;
+
+        Cubeta(int capacidad, double recargaPorSegundo, long ahora) {
+            this.capacidad = Math.max(1, capacidad);
+            this.intervaloNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / recargaPorSegundo));
+            this.toleranciaNanos = this.capacidad * intervaloNanos;
+            this.lleno = new AtomicLong(ahora);
+        }
+
+        // Nanosegundos a esperar para tener 'costo' tokens, 0 si se consumieron
+        long consumir(int costo, long ahora) {
+            // Un costo mayor que la capacidad nunca cabría: se cobra la cubeta completa
+            long incremento = Math.min(costo, capacidad) * intervaloNanos;
+            while (true) {
+                long actual = lleno.get();
+                long nuevo = Math.max(actual, ahora) + incremento;
+                long exceso = nuevo - ahora - toleranciaNanos;
+                if (exceso > 0) {
+                    return exceso;
+                }
+                if (lleno.compareAndSet(actual, nuevo)) {
+                    return 0;
+                }
+            }
+        }
+
+        void devolver(int costo) {
+            lleno.addAndGet(-Math.min(costo, capacidad) * intervaloNanos);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package ipss.web2.examen.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Suscripciones SSE al progreso de cada álbum. Las conexiones quedan en modo asíncrono del
+// servlet (ningún hilo espera por ellas) y cada evento se serializa una sola vez. Cada suscriptor
+// tiene su cola: un hilo virtual la vacía en orden y solo mientras tenga eventos pendientes, así un
+// cliente lento no frena a los demás; si acumula más de eventos-pendientes-maximo se desconecta
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgresoAlbumHub {
+
+    // Evento SSE: nombre (event:), id (id:, opcional) y datos que se envían como JSON
+    public record Evento(String nombre, Long id, Object datos) {}
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Counter descartados;
+
+    @Value("${app.progreso.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.progreso.eventos-pendientes-maximo:64}")
+    private int eventosPendientesMaximo;
+
+    @PostConstruct
+    void iniciar() {
+        Gauge.builder("app.progreso.suscriptores", total, AtomicInteger::get)
+            .description("Conexiones SSE abiertas al progreso de álbumes")
+            .register(meterRegistry);
+        descartados = Counter.builder("app.progreso.suscriptores.lentos")
+            .description("Suscriptores desconectados por acumular demasiados eventos sin enviar")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void detener() {
+        suscripciones.values().forEach(delAlbum -> delAlbum.forEach(Suscripcion::cerrar));
+        executor.shutdownNow();
+    }
+
+    // Registrar una conexión y encolarle el estado inicial. Se registra antes de leer ese estado
+    // para no perder cambios confirmados entretanto (el cliente ordena por el id del evento).
+    // La conexión se quita sola al completarse, vencer o fallar un envío
+    public SseEmitter suscribir(Long albumId, Supplier<Evento> inicial) {
+        Suscripcion suscripcion = new Suscripcion(albumId, crearEmitter(timeout.toMillis()));
+        suscripciones.computeIfAbsent(albumId, id -> ConcurrentHashMap.newKeySet()).add(suscripcion);
+        total.incrementAndGet();
+
+        suscripcion.emitter.onCompletion(() -> quitar(suscripcion));
+        suscripcion.emitter.onTimeout(suscripcion::cerrar);
+        suscripcion.emitter.onError(error -> quitar(suscripcion));
+
+        try {
+            Evento evento = inicial.get();
+            suscripcion.encolar(construir(evento.nombre(), evento.id(), serializar(evento.datos())));
+        } catch (RuntimeException e) {
+            quitar(suscripcion);
+            throw e;
+        }
+        return suscripcion.emitter;
+    }
+
+    public boolean tieneSuscriptores(Long albumId) {
+        Set<Suscripcion> delAlbum = suscripciones.get(albumId);
+        return delAlbum != null && !delAlbum.isEmpty();
+    }
+
+    // Enviar un evento a todos los suscriptores del álbum
+    public void publicar(Long albumId, Evento evento) {
+        Set<Suscripcion> delAlbum = suscripciones.get(albumId);
+        if (delAlbum == null || delAlbum.isEmpty()) {
+            return;
+        }
+        String json = serializar(evento.datos());
+        for (Suscripcion suscripcion : delAlbum) {
+            suscripcion.encolar(construir(evento.nombre(), evento.id(), json));
+        }
+    }
+
+    // Comentario SSE periódico: mantiene abiertas las conexiones en proxies y detecta las caídas
+    public void enviarLatido() {
+        for (Set<Suscripcion> delAlbum : suscripciones.values()) {
+            for (Suscripcion suscripcion : delAlbum) {
+                suscripcion.encolar(SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    public int suscriptores() {
+        return total.get();
+    }
+
+    // Ejecutar trabajo del progreso fuera del hilo de la petición; false si el hub ya se detuvo
+    public boolean ejecutar(Runnable tarea) {
+        try {
+            executor.execute(tarea);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    SseEmitter crearEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void quitar(Suscripcion suscripcion) {
+        suscripciones.computeIfPresent(suscripcion.albumId, (albumId, delAlbum) -> {
+            if (delAlbum.remove(suscripcion)) {
+                total.decrementAndGet();
+            }
+            return delAlbum.isEmpty() ? null : delAlbum;
+        });
+    }
+
+    private String serializar(Object datos) {
+        try {
+            return objectMapper.writeValueAsString(datos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de progreso", e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder construir(String nombre, Long id, String json) {
+        SseEmitter.SseEventBuilder evento = SseEmitter.event().name(nombre).data(json, MediaType.APPLICATION_JSON);
+        return id != null ? evento.id(id.toString()) : evento;
+    }
+
+    private final class Suscripcion {
+
+        private final Long albumId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger cantidadPendientes = new AtomicInteger();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private volatile boolean cerrada;
+
+        private Suscripcion(Long albumId, SseEmitter emitter) {
+            this.albumId = albumId;
+            this.emitter = emitter;
+        }
+
+        private void encolar(SseEmitter.SseEventBuilder evento) {
+            if (cerrada) {
+                return;
+            }
+            if (cantidadPendientes.incrementAndGet() > eventosPendientesMaximo) {
+                log.debug("Suscriptor SSE del álbum {} desconectado: {} eventos sin enviar", albumId, eventosPendientesMaximo);
+                descartados.increment();
+                cerrar();
+                return;
+            }
+            pendientes.add(evento);
+            if (enviando.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::vaciar);
+                } catch (RejectedExecutionException e) {
+                    cerrar();
+                }
+            }
+        }
+
+        // Enviar en orden todo lo pendiente; si llega algo justo al terminar, seguir en el mismo hilo
+        private void vaciar() {
+            do {
+                SseEmitter.SseEventBuilder evento;
+                while ((evento = pendientes.poll()) != null) {
+                    cantidadPendientes.decrementAndGet();
+                    try {
+                        emitter.send(evento);
+                    } catch (IOException | IllegalStateException e) {
+                        cerrar();
+                        return;
+                    }
+                }
+                enviando.set(false);
+            } while (!pendientes.isEmpty() && enviando.compareAndSet(false, true));
+        }
+
+        private void cerrar() {
+            cerrada = true;
+            pendientes.clear();
+            quitar(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // La conexión ya estaba cerrada
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumVersionDTO;
+import ipss.web2.examen.dtos.LaminasResumenDTO;
+import ipss.web2.examen.dtos.ProgresoAlbumDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import ipss.web2.examen.repositories.AlbumRepository;
+import ipss.web2.examen.repositories.LaminaConteoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Progreso en vivo de un álbum por SSE: al confirmarse un cambio de contadores (agregarLamina,
+// carga masiva, eliminarLamina, reconciliación) se envían solo las láminas que cambiaron y los
+// totales leídos de los contadores, sin recalcular obtenerEstado. Sin suscriptores no se consulta nada.
+// La lectura corre en el executor del hub, no en el hilo de la petición: el listener solo acumula los
+// cambios del álbum, y una sola tarea por álbum los lee y publica en orden (los commits que llegan
+// mientras tanto se suman y salen en la siguiente vuelta)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgresoAlbumService {
+
+    public static final String EVENTO_TOTALES = "totales";
+    public static final String EVENTO_PROGRESO = "progreso";
+    public static final String EVENTO_COMPLETADO = "completado";
+
+    private final AlbumRepository albumRepository;
+    private final LaminaConteoRepository laminaConteoRepository;
+    private final LaminaConteoService laminaConteoService;
+    private final ProgresoAlbumHub progresoAlbumHub;
+    private final PlatformTransactionManager transactionManager;
+
+    // Cambios por lámina de catálogo aún no publicados, por álbum. Hay entrada mientras la tarea del álbum corre
+    private final Map<Long, Map<Long, Integer>> pendientes = new ConcurrentHashMap<>();
+
+    // Abrir la suscripción; el primer evento son los totales actuales del álbum
+    public SseEmitter suscribir(Long albumId) {
+        return progresoAlbumHub.suscribir(albumId, () -> lectura(true).execute(estado -> {
+            long version = albumRepository.findVersionById(albumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Álbum", "ID", albumId))
+                .version();
+            return new ProgresoAlbumHub.Evento(EVENTO_TOTALES, version, laminaConteoService.obtenerResumen(albumId));
+        }));
+    }
+
+    // Acumular los cambios confirmados; la tarea del álbum los relee contra la primaria
+    @TransactionalEventListener
+    public void alCambiarConteos(LaminasConteoEvent evento) {
+        Long albumId = evento.albumId();
+        if (!progresoAlbumHub.tieneSuscriptores(albumId)) {
+            return;
+        }
+
+        boolean[] programar = {false};
+        pendientes.compute(albumId, (id, deltas) -> {
+            programar[0] = deltas == null;
+            Map<Long, Integer> acumulados = deltas == null ? new HashMap<>() : deltas;
+            evento.deltasPorCatalogo().forEach((catalogoId, delta) -> acumulados.merge(catalogoId, delta, Integer::sum));
+            return acumulados;
+        });
+        if (programar[0] && !progresoAlbumHub.ejecutar(() -> publicarPendientes(albumId))) {
+            pendientes.remove(albumId);
+        }
+    }
+
+    // Publicar lo acumulado hasta que no quede nada; al terminar se quita la entrada del álbum
+    private void publicarPendientes(Long albumId) {
+        while (true) {
+            List<Map<Long, Integer>> tomados = new ArrayList<>(1);
+            pendientes.compute(albumId, (id, deltas) -> {
+                if (deltas == null || deltas.isEmpty()) {
+                    return null;
+                }
+                tomados.add(deltas);
+                return new HashMap<>();
+            });
+            if (tomados.isEmpty()) {
+                return;
+            }
+            try {
+                publicar(albumId, tomados.get(0));
+            } catch (RuntimeException e) {
+                log.warn("No se pudo publicar el progreso del álbum {}: {}", albumId, e.getMessage());
+            }
+        }
+    }
+
+    private void publicar(Long albumId, Map<Long, Integer> deltas) {
+        ProgresoAlbumDTO progreso = lectura(false).execute(estado -> construir(albumId, deltas));
+        if (progreso == null || progreso.cambios().isEmpty()) {
+            return;
+        }
+        progresoAlbumHub.publicar(albumId, new ProgresoAlbumHub.Evento(EVENTO_PROGRESO, progreso.version(), progreso));
+        if (progreso.completado()) {
+            progresoAlbumHub.publicar(albumId,
+                new ProgresoAlbumHub.Evento(EVENTO_COMPLETADO, progreso.version(), progreso.totales()));
+        }
+    }
+
+    private ProgresoAlbumDTO construir(Long albumId, Map<Long, Integer> deltas) {
+        Long version = albumRepository.findVersionById(albumId).map(AlbumVersionDTO::version).orElse(null);
+        if (version == null) {
+            return null;
+        }
+
+        List<ProgresoAlbumDTO.Cambio> cambios = new ArrayList<>(deltas.size());
+        // Faltantes antes del cambio = faltantes actuales - las que quedaron en cero + las que salieron de cero
+        int faltantesAntes = 0;
+        for (LaminaConteoRepository.ConteoLamina conteo : laminaConteoRepository.obtenerConteos(albumId, deltas.keySet())) {
+            int delta = deltas.getOrDefault(conteo.getCatalogoId().longValue(), 0);
+            if (delta == 0) {
+                continue;
+            }
+            int cantidad = conteo.getCantidad().intValue();
+            int anterior = Math.max(cantidad - delta, 0);
+            String cambio;
+            if (delta > 0) {
+                cambio = anterior == 0 ? "NUEVA" : anterior == 1 ? "REPETIDA" : "COPIA";
+            } else {
+                cambio = cantidad == 0 ? "FALTANTE" : "QUITADA";
+            }
+            faltantesAntes += (anterior == 0 ? 1 : 0) - (cantidad == 0 ? 1 : 0);
+            cambios.add(new ProgresoAlbumDTO.Cambio(conteo.getCatalogoId().longValue(), conteo.getNombre(),
+                cantidad, delta, cambio));
+        }
+
+        LaminasResumenDTO totales = laminaConteoService.obtenerResumen(albumId);
+        faltantesAntes += totales.laminasFaltantesTotal();
+        boolean completado = totales.catalogoTotal() > 0 && totales.laminasFaltantesTotal() == 0 && faltantesAntes > 0;
+        return new ProgresoAlbumDTO(albumId, version, cambios, totales, completado);
+    }
+
+    // Transacción propia en el hilo del hub, contra la primaria salvo la suscripción inicial
+    private TransactionTemplate lectura(boolean soloLectura) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(soloLectura);
+        return template;
+    }
+}
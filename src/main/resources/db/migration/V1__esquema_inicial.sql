@@ -0,0 +1,44 @@
+-- Esquema inicial (tablas creadas originalmente por Hibernate).
+-- En bases existentes Flyway marca esta versión como baseline y no la ejecuta.
+-- is_active usa BOOLEAN para que el mismo script corra en H2 (tests); MySQL lo crea
+-- como TINYINT(1), que Connector/J informa como BIT igual que el BIT(1) de Hibernate.
+
+CREATE TABLE IF NOT EXISTS album (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    nombre      VARCHAR(255) NOT NULL,
+    year        INT          NOT NULL,
+    descripcion VARCHAR(500),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    is_active   BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS lamina (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    nombre            VARCHAR(255) NOT NULL,
+    imagen            VARCHAR(255),
+    fecha_lanzamiento DATE         NOT NULL,
+    tipo_lamina       VARCHAR(255) NOT NULL,
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    is_active         BOOLEAN,
+    album_id          BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lamina_album FOREIGN KEY (album_id) REFERENCES album (id)
+);
+
+CREATE TABLE IF NOT EXISTS lamina_catalogo (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    nombre            VARCHAR(255) NOT NULL,
+    imagen            VARCHAR(255),
+    fecha_lanzamiento DATE         NOT NULL,
+    tipo_lamina       VARCHAR(255) NOT NULL,
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    is_active         BOOLEAN,
+    album_id          BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_lamina_catalogo_album_nombre UNIQUE (album_id, nombre),
+    CONSTRAINT fk_lamina_catalogo_album FOREIGN KEY (album_id) REFERENCES album (id)
+);
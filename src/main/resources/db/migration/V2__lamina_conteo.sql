@@ -0,0 +1,22 @@
+-- Conteo materializado de copias activas por (álbum, lámina de catálogo).
+-- Lo mantienen las operaciones de LaminaService en la misma transacción y
+-- LaminaConteoReconciliacionJob lo recalcula desde la tabla lamina.
+
+CREATE TABLE lamina_conteo (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    album_id           BIGINT      NOT NULL,
+    lamina_catalogo_id BIGINT      NOT NULL,
+    cantidad           INT         NOT NULL DEFAULT 0,
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_lamina_conteo_album_catalogo UNIQUE (album_id, lamina_catalogo_id),
+    CONSTRAINT fk_lamina_conteo_album FOREIGN KEY (album_id) REFERENCES album (id),
+    CONSTRAINT fk_lamina_conteo_catalogo FOREIGN KEY (lamina_catalogo_id) REFERENCES lamina_catalogo (id)
+);
+
+-- Poblar los contadores con los datos existentes
+INSERT INTO lamina_conteo (album_id, lamina_catalogo_id, cantidad, updated_at)
+SELECT cat.album_id, cat.id, COUNT(l.id), CURRENT_TIMESTAMP
+FROM lamina_catalogo cat
+JOIN lamina l ON l.album_id = cat.album_id AND l.nombre = cat.nombre AND l.is_active = TRUE
+GROUP BY cat.album_id, cat.id;
@@ -0,0 +1,13 @@
+-- Índices compuestos para las consultas calientes sobre lamina y lamina_catalogo.
+-- IndicesConsultasTests verifica con EXPLAIN que ninguna las recorra completas.
+
+-- findByAlbumAndNombreAndActiveTrue, contarCopiasPorNombre, láminas poseídas del
+-- álbum y el join por nombre de la reconciliación; su prefijo (album_id, is_active)
+-- cubre además el listado activo por álbum
+CREATE INDEX idx_lamina_album_activo_nombre ON lamina (album_id, is_active, nombre);
+
+-- Paginación keyset de GET /api/laminas (is_active = TRUE AND id > ? ORDER BY id)
+CREATE INDEX idx_lamina_activo_id ON lamina (is_active, id);
+
+-- findByAlbumAndActiveTrue y el catálogo activo del álbum
+CREATE INDEX idx_lamina_catalogo_album_activo ON lamina_catalogo (album_id, is_active);
@@ -0,0 +1,7 @@
+-- Versión de los datos de cada álbum (álbum, catálogo y láminas) para los ETag / Last-Modified
+-- de las lecturas. Se incrementa en la misma transacción que cualquier cambio del álbum.
+
+ALTER TABLE album ADD COLUMN datos_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE album ADD COLUMN datos_actualizados_en DATETIME(6);
+
+UPDATE album SET datos_actualizados_en = COALESCE(updated_at, CURRENT_TIMESTAMP);
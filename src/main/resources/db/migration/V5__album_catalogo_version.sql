@@ -0,0 +1,7 @@
+-- Versión del catálogo de cada álbum: se incrementa en cada creación o actualización del
+-- catálogo (CatalogoService), en la misma transacción que los cambios de lamina_catalogo.
+
+ALTER TABLE album ADD COLUMN catalogo_version BIGINT NOT NULL DEFAULT 0;
+
+UPDATE album a SET catalogo_version = 1
+WHERE EXISTS (SELECT 1 FROM lamina_catalogo c WHERE c.album_id = a.id);
@@ -0,0 +1,53 @@
+-- Tablas de archivo para las filas dadas de baja (is_active = FALSE) hace más de
+-- app.archivo.retencion. ArchivoCompactacionJob las mueve en lotes desde las tablas
+-- calientes conservando el ID, y ArchivoService las devuelve al restaurar un álbum.
+-- Sin claves foráneas: un álbum archivado puede tener sus láminas ya archivadas antes.
+
+CREATE TABLE album_archivo (
+    id                    BIGINT       NOT NULL,
+    nombre                VARCHAR(255) NOT NULL,
+    year                  INT          NOT NULL,
+    descripcion           VARCHAR(500),
+    created_at            DATETIME(6),
+    updated_at            DATETIME(6),
+    is_active             BOOLEAN,
+    datos_version         BIGINT       NOT NULL DEFAULT 0,
+    datos_actualizados_en DATETIME(6),
+    catalogo_version      BIGINT       NOT NULL DEFAULT 0,
+    archivado_en          DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE lamina_catalogo_archivo (
+    id                BIGINT       NOT NULL,
+    nombre            VARCHAR(255) NOT NULL,
+    imagen            VARCHAR(255),
+    fecha_lanzamiento DATE         NOT NULL,
+    tipo_lamina       VARCHAR(255) NOT NULL,
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    is_active         BOOLEAN,
+    album_id          BIGINT       NOT NULL,
+    archivado_en      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_lamina_catalogo_archivo_album ON lamina_catalogo_archivo (album_id);
+
+CREATE TABLE lamina_archivo (
+    id                BIGINT       NOT NULL,
+    nombre            VARCHAR(255) NOT NULL,
+    imagen            VARCHAR(255),
+    fecha_lanzamiento DATE         NOT NULL,
+    tipo_lamina       VARCHAR(255) NOT NULL,
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    is_active         BOOLEAN,
+    album_id          BIGINT       NOT NULL,
+    archivado_en      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_lamina_archivo_album ON lamina_archivo (album_id);
+
+-- Selección de las bajas vencidas sin recorrer las filas activas
+CREATE INDEX idx_lamina_activo_actualizada ON lamina (is_active, updated_at);
+CREATE INDEX idx_lamina_catalogo_activo_actualizada ON lamina_catalogo (is_active, updated_at);
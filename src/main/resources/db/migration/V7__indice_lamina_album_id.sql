@@ -0,0 +1,3 @@
+-- Paginación keyset de GET /api/laminas/album/{albumId} (album_id = ? AND id > ? ORDER BY id).
+-- idx_lamina_album_activo_nombre no entrega el orden por id: cada página ordenaba el álbum completo
+CREATE INDEX idx_lamina_album_id ON lamina (album_id, id);
@@ -0,0 +1,11 @@
+-- Versión del listado de álbumes (ETag de GET /api/albums). Contador propio que solo crece: la
+-- suma de las versiones de los álbumes bajaba al archivar (borrar) un álbum y podía repetir un
+-- ETag ya entregado con otro contenido. Se incrementa en cada alta, cambio, baja, archivo y
+-- restauración de un álbum
+CREATE TABLE album_listado_version (
+    id      INT    NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO album_listado_version (id, version) VALUES (1, 0);
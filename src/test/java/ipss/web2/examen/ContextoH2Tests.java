@@ -0,0 +1,28 @@
+package ipss.web2.examen;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Levanta el contexto completo contra H2 (perfil h2): migraciones Flyway, caché de segundo nivel,
+// jobs y datos de demostración. ApplicationTests necesita la base MySQL configurada
+@SpringBootTest
+@ActiveProfiles("h2")
+class ContextoH2Tests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void contextoCargaConCacheDeSegundoNivel() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+		assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
+		assertThat(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()).isTrue();
+	}
+}
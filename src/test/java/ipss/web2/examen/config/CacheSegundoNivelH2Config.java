@@ -0,0 +1,39 @@
+package ipss.web2.examen.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URISyntaxException;
+
+// Caché de segundo nivel propia de cada contexto de pruebas (como su base H2): el proveedor JCache
+// comparte un CacheManager por URI y ClassLoader en toda la JVM, y un contexto leería entidades
+// cacheadas por otro con los mismos IDs. Un ClassLoader por contexto separa los CacheManager
+// sin dejar de usar las regiones de caffeine-l2.conf
+@Configuration
+@Profile("h2")
+class CacheSegundoNivelH2Config {
+
+	// El CacheManager solo guarda una referencia débil a su ClassLoader: vive con el contexto
+	private final ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {};
+
+	@Bean
+	HibernatePropertiesCustomizer cacheManagerPorContexto(
+			@Value("${spring.jpa.properties.hibernate.javax.cache.uri}") String configuracion) {
+		return propiedades -> {
+			try {
+				CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+					.getCacheManager(classLoader.getResource(configuracion).toURI(), classLoader);
+				propiedades.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+			} catch (URISyntaxException e) {
+				throw new IllegalStateException("Configuración de caché inválida: " + configuracion, e);
+			}
+		};
+	}
+}
@@ -0,0 +1,184 @@
+package ipss.web2.examen.config;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.services.AlbumService;
+import ipss.web2.examen.services.CatalogoService;
+import ipss.web2.examen.services.LaminaService;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Idempotency-Key en POST /api/laminas y /api/laminas/masivo: el reintento recibe la respuesta
+// guardada sin volver a ejecutarse, otra petición con la misma clave es 422 y una clave inválida 400.
+// El cuerpo ya leído se reentrega al controlador también para lectura asíncrona (ReadListener)
+@SpringBootTest(properties = "app.datos.modo=ninguno")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class IdempotenciaFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IdempotenciaFilter idempotenciaFilter;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private LaminaService laminaService;
+
+	@Test
+	void reintentoConLaMismaClaveRepiteLaRespuestaSinAgregarOtraLamina() throws Exception {
+		Long albumId = crearAlbumConCatalogo("Idempotente");
+
+		String original = crearLamina("clave-repetida", lamina(albumId, "Messi"))
+			.andExpect(status().isCreated())
+			.andExpect(header().doesNotExist(IdempotenciaFilter.CABECERA_REPETIDA))
+			.andReturn().getResponse().getContentAsString();
+
+		crearLamina("clave-repetida", lamina(albumId, "Messi"))
+			.andExpect(status().isCreated())
+			.andExpect(header().string(IdempotenciaFilter.CABECERA_REPETIDA, "true"))
+			.andExpect(content().string(original));
+
+		assertThat(laminaService.obtenerResumen(albumId).totalLaminas()).isEqualTo(1);
+	}
+
+	@Test
+	void sinClaveCadaPeticionSeEjecuta() throws Exception {
+		Long albumId = crearAlbumConCatalogo("Sin clave");
+
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(post("/api/laminas")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(lamina(albumId, "Messi")))
+				.andExpect(status().isCreated());
+		}
+
+		assertThat(laminaService.obtenerResumen(albumId).totalLaminas()).isEqualTo(2);
+	}
+
+	@Test
+	void mismaClaveConOtroContenidoResponde422() throws Exception {
+		Long albumId = crearAlbumConCatalogo("Conflicto");
+		crearLamina("clave-conflicto", lamina(albumId, "Messi"))
+			.andExpect(status().isCreated());
+
+		crearLamina("clave-conflicto", lamina(albumId, "Alexis"))
+			.andExpect(status().isUnprocessableEntity())
+			.andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+
+		// La misma clave en la carga masiva también es otra petición
+		mockMvc.perform(post("/api/laminas/masivo")
+				.header(IdempotenciaFilter.CABECERA, "clave-conflicto")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"albumId\": " + albumId + ", \"laminas\": [" + lamina(albumId, "Messi") + "]}"))
+			.andExpect(status().isUnprocessableEntity());
+
+		assertThat(laminaService.obtenerResumen(albumId).totalLaminas()).isEqualTo(1);
+	}
+
+	@Test
+	void claveVaciaODemasiadoLargaResponde400() throws Exception {
+		Long albumId = crearAlbumConCatalogo("Clave inválida");
+
+		crearLamina(" ", lamina(albumId, "Messi"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_INVALID"));
+		crearLamina("k".repeat(256), lamina(albumId, "Messi"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_INVALID"));
+
+		assertThat(laminaService.obtenerResumen(albumId).totalLaminas()).isZero();
+	}
+
+	@Test
+	void cuerpoReentregadoSePuedeLeerConReadListener() throws Exception {
+		byte[] cuerpo = "{\"nombre\": \"Messi\"}".getBytes(StandardCharsets.UTF_8);
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/laminas");
+		request.addHeader(IdempotenciaFilter.CABECERA, "clave-asincrona");
+		request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		request.setContent(cuerpo);
+		ByteArrayOutputStream leido = new ByteArrayOutputStream();
+		List<String> eventos = new ArrayList<>();
+
+		idempotenciaFilter.doFilter(request, new MockHttpServletResponse(), (peticion, respuesta) -> {
+			ServletInputStream entrada = peticion.getInputStream();
+			entrada.setReadListener(new ReadListener() {
+				@Override
+				public void onDataAvailable() throws IOException {
+					eventos.add("datos");
+					byte[] buffer = new byte[4];
+					while (entrada.isReady() && !entrada.isFinished()) {
+						leido.write(buffer, 0, entrada.read(buffer));
+					}
+				}
+
+				@Override
+				public void onAllDataRead() {
+					eventos.add("fin");
+				}
+
+				@Override
+				public void onError(Throwable error) {
+					eventos.add("error");
+				}
+			});
+			((HttpServletResponse) respuesta).setStatus(HttpStatus.CREATED.value());
+		});
+
+		assertThat(eventos).containsExactly("datos", "fin");
+		assertThat(leido.toByteArray()).isEqualTo(cuerpo);
+	}
+
+	private ResultActions crearLamina(String clave, String cuerpo) throws Exception {
+		return mockMvc.perform(post("/api/laminas")
+			.header(IdempotenciaFilter.CABECERA, clave)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(cuerpo));
+	}
+
+	private Long crearAlbumConCatalogo(String nombre) {
+		Long albumId = albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+		catalogoService.crearCatalogo(albumId, List.of(
+			new LaminaCatalogoRequestDTO("Messi", null, LocalDate.of(2026, 1, 1), "Jugador"),
+			new LaminaCatalogoRequestDTO("Alexis", null, LocalDate.of(2026, 1, 1), "Jugador")));
+		return albumId;
+	}
+
+	private static String lamina(Long albumId, String nombre) {
+		return """
+			{"albumId": %d, "nombre": "%s", "fechaLanzamiento": "2026-01-01", "tipoLamina": "Jugador"}
+			""".formatted(albumId, nombre);
+	}
+}
@@ -0,0 +1,101 @@
+package ipss.web2.examen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.services.AlbumService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Negociación de formato de la API: CBOR y Smile cuando se piden en Accept o se envían en
+// Content-Type, JSON para Accept: */* y Vary: Accept en todas las respuestas de /api
+@SpringBootTest(properties = "app.datos.modo=ninguno")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class JacksonConfigTests {
+
+	private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Test
+	void acceptCborYSmileRespondenEnBinario() throws Exception {
+		Long albumId = crearAlbum("Binario");
+
+		JsonNode cbor = new CBORMapper().readTree(obtener(albumId, CBOR).getResponse().getContentAsByteArray());
+		JsonNode smile = new SmileMapper().readTree(obtener(albumId, SMILE).getResponse().getContentAsByteArray());
+
+		assertThat(cbor.at("/data/nombre").asText()).isEqualTo("Binario");
+		assertThat(smile.at("/data/nombre").asText()).isEqualTo("Binario");
+		// Misma configuración de Boot que el JSON: fechas como texto ISO, no como arreglos
+		assertThat(cbor.at("/data/createdAt").isTextual()).isTrue();
+		assertThat(smile.at("/data/createdAt").isTextual()).isTrue();
+	}
+
+	@Test
+	void acceptCualquieraSigueRespondiendoJson() throws Exception {
+		Long albumId = crearAlbum("Por defecto");
+
+		mockMvc.perform(get("/api/albums/" + albumId).accept(MediaType.ALL))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+			.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+			.andExpect(jsonPath("$.data.nombre").value("Por defecto"));
+	}
+
+	@Test
+	void cuerposCborYSmileSeLeen() throws Exception {
+		Map<String, Object> album = Map.of("nombre", "Desde CBOR", "year", 2026, "descripcion", "Álbum de prueba");
+		byte[] respuesta = mockMvc.perform(post("/api/albums")
+				.contentType(CBOR)
+				.accept(CBOR)
+				.content(new CBORMapper().writeValueAsBytes(album)))
+			.andExpect(status().isCreated())
+			.andExpect(content().contentTypeCompatibleWith(CBOR))
+			.andReturn().getResponse().getContentAsByteArray();
+		assertThat(new CBORMapper().readTree(respuesta).at("/data/nombre").asText()).isEqualTo("Desde CBOR");
+
+		mockMvc.perform(post("/api/albums")
+				.contentType(SMILE)
+				.content(new SmileMapper().writeValueAsBytes(Map.of("nombre", "Desde Smile", "year", 2026,
+					"descripcion", "Álbum de prueba"))))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.data.nombre").value("Desde Smile"));
+	}
+
+	private MvcResult obtener(Long albumId, MediaType formato) throws Exception {
+		return mockMvc.perform(get("/api/albums/" + albumId).accept(formato))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(formato))
+			.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+			.andReturn();
+	}
+
+	private Long crearAlbum(String nombre) {
+		return albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+	}
+}
@@ -0,0 +1,89 @@
+package ipss.web2.examen.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Límite de tasa por cliente y endpoint (429), descarte por carga (503) y su relación con
+// Idempotency-Key. La recarga es casi nula: una cubeta agotada no se recupera durante la prueba
+@SpringBootTest(properties = {
+	"app.datos.modo=ninguno",
+	"app.limite.cabecera-cliente=X-Cliente",
+	"app.limite.capacidad=1000",
+	"app.limite.capacidad-endpoint=20",
+	"app.limite.recarga-endpoint-por-segundo=0.001",
+	"app.limite.costo-en-curso-maximo=5"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class LimiteTasaTests {
+
+	private static final String LAMINA = """
+		{"albumId": 999999, "nombre": "Messi", "fechaLanzamiento": "2026-01-01", "tipoLamina": "Jugador"}
+		""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void endpointAgotadoResponde429ConRetryAfter() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			mockMvc.perform(get("/api/albums").header("X-Cliente", "agotado"))
+				.andExpect(status().isOk());
+		}
+
+		mockMvc.perform(get("/api/albums").header("X-Cliente", "agotado"))
+			.andExpect(status().isTooManyRequests())
+			.andExpect(header().exists("Retry-After"))
+			.andExpect(jsonPath("$.errorCode").value("RATE_LIMITED"));
+
+		// Las cubetas son por cliente
+		mockMvc.perform(get("/api/albums").header("X-Cliente", "otro"))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void peticionCostosaSobreElMaximoEnCursoResponde503() throws Exception {
+		// GET /api/laminas cuesta 10 y el máximo en curso es 5
+		mockMvc.perform(get("/api/laminas").header("X-Cliente", "costoso"))
+			.andExpect(status().isServiceUnavailable())
+			.andExpect(header().string("Retry-After", "1"))
+			.andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"));
+	}
+
+	@Test
+	void rechazoPorLimiteNoQuedaGuardadoComoRespuestaIdempotente() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			crearLamina("limitado", "otra-clave-" + i);
+		}
+		crearLamina("limitado", "clave-429")
+			.andExpect(status().isTooManyRequests());
+
+		// Otro cliente con cubeta disponible reintenta con la misma clave: se ejecuta, no se repite el 429
+		crearLamina("disponible", "clave-429")
+			.andExpect(status().isNotFound())
+			.andExpect(header().doesNotExist(IdempotenciaFilter.CABECERA_REPETIDA));
+		crearLamina("disponible", "clave-429")
+			.andExpect(status().isNotFound())
+			.andExpect(header().string(IdempotenciaFilter.CABECERA_REPETIDA, "true"));
+	}
+
+	private ResultActions crearLamina(String cliente, String clave) throws Exception {
+		return mockMvc.perform(post("/api/laminas")
+			.header("X-Cliente", cliente)
+			.header(IdempotenciaFilter.CABECERA, clave)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(LAMINA));
+	}
+}
@@ -0,0 +1,130 @@
+package ipss.web2.examen.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Enrutamiento de lecturas con bases H2 embebidas (una primaria y dos réplicas): cada base
+// responde su propio nombre, así se ve a cuál fue cada transacción
+class ReplicasDataSourceTests {
+
+	private static final String CONSULTA_RETRASO = "SELECT retraso AS Seconds_Behind_Source FROM estado_replica";
+
+	private DataSource primaria;
+	private DataSource replica1;
+	private DataSource replica2;
+	private ReplicasDataSource replicas;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate lectura;
+	private TransactionTemplate escritura;
+
+	@BeforeEach
+	void preparar() {
+		primaria = base("primaria");
+		replica1 = base("replica1");
+		replica2 = base("replica2");
+		configurar(List.of(
+			new ReplicasDataSource.Replica("replica-1", replica1),
+			new ReplicasDataSource.Replica("replica-2", replica2)));
+	}
+
+	@AfterEach
+	void cerrar() {
+		for (DataSource dataSource : List.of(primaria, replica1, replica2)) {
+			new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+		}
+	}
+
+	@Test
+	void lecturasVanALasReplicasEnRoundRobinYEscriturasALaPrimaria() {
+		List<String> nodos = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			nodos.add(lectura.execute(estado -> nodoActual()));
+		}
+
+		String escrito = escritura.execute(estado -> nodoActual());
+
+		assertThat(nodos).containsExactly("replica1", "replica2", "replica1", "replica2");
+		assertThat(escrito).isEqualTo("primaria");
+	}
+
+	@Test
+	void replicaAtrasadaSeExpulsaHastaPonerseAlDia() {
+		new JdbcTemplate(replica1).update("UPDATE estado_replica SET retraso = 30");
+		new JdbcTemplate(replica2).update("UPDATE estado_replica SET retraso = 30");
+		replicas.verificar();
+
+		String sinReplicas = lectura.execute(estado -> nodoActual());
+
+		assertThat(replicas.disponibles()).isZero();
+		assertThat(sinReplicas).isEqualTo("primaria");
+
+		new JdbcTemplate(replica2).update("UPDATE estado_replica SET retraso = 1");
+		replicas.verificar();
+
+		List<String> nodos = List.of(lectura.execute(estado -> nodoActual()), lectura.execute(estado -> nodoActual()));
+
+		assertThat(replicas.disponibles()).isEqualTo(1);
+		assertThat(nodos).containsExactly("replica2", "replica2");
+	}
+
+	@Test
+	void replicaConReplicacionDetenidaSeExpulsa() {
+		new JdbcTemplate(replica1).update("UPDATE estado_replica SET retraso = NULL");
+		replicas.verificar();
+
+		assertThat(replicas.getReplicas()).extracting(ReplicasDataSource.Replica::isDisponible)
+			.containsExactly(false, true);
+	}
+
+	@Test
+	void replicaInaccesibleSeExpulsaAlFallarLaConexion() {
+		DataSource caida = new DriverManagerDataSource("jdbc:inexistente://replica-caida/web2_examen", "sa", "");
+		configurar(List.of(new ReplicasDataSource.Replica("replica-caida", caida)));
+
+		String nodo = lectura.execute(estado -> nodoActual());
+
+		assertThat(nodo).isEqualTo("primaria");
+		assertThat(replicas.disponibles()).isZero();
+	}
+
+	private void configurar(List<ReplicasDataSource.Replica> nodos) {
+		replicas = new ReplicasDataSource(nodos, primaria, Duration.ofSeconds(5), CONSULTA_RETRASO,
+			"Seconds_Behind_Source");
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaria);
+		dataSource.setReadOnlyDataSource(replicas);
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		lectura = new TransactionTemplate(transactionManager);
+		lectura.setReadOnly(true);
+		escritura = new TransactionTemplate(transactionManager);
+	}
+
+	private String nodoActual() {
+		return jdbcTemplate.queryForObject("SELECT nombre FROM nodo", String.class);
+	}
+
+	private static DataSource base(String nombre) {
+		DataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE nodo (nombre VARCHAR(20))");
+		jdbc.update("INSERT INTO nodo VALUES (?)", nombre);
+		jdbc.execute("CREATE TABLE estado_replica (retraso BIGINT)");
+		jdbc.update("INSERT INTO estado_replica VALUES (0)");
+		return dataSource;
+	}
+}
@@ -0,0 +1,78 @@
+package ipss.web2.examen.controllers.api;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.services.AlbumService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET condicionales por ETag: 304 mientras la versión del álbum no cambia, 200 con un ETag
+// nuevo después de un cambio. If-Modified-Since no se usa (sin Last-Modified)
+@SpringBootTest(properties = "app.datos.modo=ninguno")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class LecturasCondicionalesTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Test
+	void albumResponde304ConElMismoEtagYOtroEtagTrasUnCambio() throws Exception {
+		Long albumId = albumService.crearAlbum(new AlbumRequestDTO("Condicional", 2026, "Álbum de prueba")).getId();
+		String ruta = "/api/albums/" + albumId;
+
+		String etag = mockMvc.perform(get(ruta))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isEqualTo("W/\"album-" + albumId + "-v0\"");
+
+		mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+
+		albumService.actualizarAlbum(albumId, new AlbumRequestDTO("Condicional 2", 2026, "Álbum de prueba"));
+
+		mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "W/\"album-" + albumId + "-v1\""));
+	}
+
+	@Test
+	void ifModifiedSinceSinEtagNoResponde304() throws Exception {
+		Long albumId = albumService.crearAlbum(new AlbumRequestDTO("Sin fecha", 2026, "Álbum de prueba")).getId();
+		String futuro = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusDays(1));
+
+		mockMvc.perform(get("/api/albums/" + albumId).header(HttpHeaders.IF_MODIFIED_SINCE, futuro))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void listadoCambiaDeEtagAlCrearUnAlbum() throws Exception {
+		String etag = mockMvc.perform(get("/api/albums"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/albums").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+
+		albumService.crearAlbum(new AlbumRequestDTO("Nuevo en el listado", 2026, "Álbum de prueba"));
+
+		mockMvc.perform(get("/api/albums").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,183 @@
+package ipss.web2.examen.repositories;
+
+import ipss.web2.examen.models.Album;
+import ipss.web2.examen.models.Lamina;
+import ipss.web2.examen.models.LaminaCatalogo;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecuta EXPLAIN sobre cada consulta que generan los repositorios (H2 en modo MySQL,
+// esquema creado por las migraciones Flyway) y falla si alguna recorre completa una tabla caliente
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+	"spring.datasource.url=jdbc:h2:mem:indices;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.session_factory.statement_inspector=ipss.web2.examen.repositories.IndicesConsultasTests$CapturadorSql"
+})
+class IndicesConsultasTests {
+
+	// album es pequeña (un registro por álbum) y su listado puede recorrerse completo
+	private static final List<String> TABLAS_CALIENTES = List.of("lamina", "lamina_catalogo", "lamina_conteo");
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private LaminaRepository laminaRepository;
+
+	@Autowired
+	private LaminaCatalogoRepository laminaCatalogoRepository;
+
+	@Autowired
+	private LaminaConteoRepository laminaConteoRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	private Album album;
+
+	@BeforeEach
+	void prepararDatos() {
+		album = entityManager.persist(Album.builder().nombre("Mundial").year(2026).build());
+		for (String nombre : List.of("Messi", "Alexis", "Vidal")) {
+			LaminaCatalogo catalogo = new LaminaCatalogo();
+			catalogo.setNombre(nombre);
+			catalogo.setFechaLanzamiento(LocalDate.of(2026, 1, 1));
+			catalogo.setTipoLamina("Jugador");
+			catalogo.setAlbum(album);
+			entityManager.persist(catalogo);
+
+			Lamina lamina = new Lamina();
+			lamina.setNombre(nombre);
+			lamina.setFechaLanzamiento(LocalDate.of(2026, 1, 1));
+			lamina.setTipoLamina("Jugador");
+			lamina.setAlbum(album);
+			entityManager.persist(lamina);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		CapturadorSql.limpiar();
+	}
+
+	@Test
+	void consultasDeLaminaUsanIndices() {
+		laminaRepository.findByAlbumAndNombreAndActiveTrue(album, "Messi");
+		laminaRepository.findById(1L);
+		laminaRepository.findResponseById(1L);
+		laminaRepository.findResponseByAlbumIdAndActiveTrue(album.getId());
+		laminaRepository.findResponseByActiveTrueAndIdGreaterThan(0L, Limit.of(50));
+		laminaRepository.findResponseByAlbumIdAndIdGreaterThan(album.getId(), 0L, Limit.of(50));
+		laminaRepository.contarCopiasPorNombre(album, List.of("Messi", "Vidal"));
+
+		verificarPlanes();
+	}
+
+	@Test
+	void paginacionPorAlbumRecorreElIndiceEnOrdenDeId() {
+		laminaRepository.findResponseByAlbumIdAndIdGreaterThan(album.getId(), 0L, Limit.of(50));
+
+		List<String> consultas = CapturadorSql.consultas();
+		assertThat(consultas).hasSize(1);
+		assertThat(explicar(consultas.get(0)).toLowerCase(Locale.ROOT)).contains("idx_lamina_album_id");
+	}
+
+	@Test
+	void consultasDeCatalogoUsanIndices() {
+		laminaCatalogoRepository.findByAlbumAndActiveTrue(album);
+		laminaCatalogoRepository.findByAlbumIdAndActiveTrue(album.getId());
+		laminaCatalogoRepository.findByAlbumAndNombreAndActiveTrue(album, "Messi");
+		laminaCatalogoRepository.countByAlbumAndActiveTrue(album);
+		laminaCatalogoRepository.findResponseByAlbumIdAndActiveTrue(album.getId());
+
+		verificarPlanes();
+	}
+
+	@Test
+	void consultasDeConteoUsanIndices() {
+		laminaConteoRepository.findByAlbumId(album.getId());
+		laminaConteoRepository.obtenerResumen(album.getId());
+		laminaConteoRepository.calcularConteoReal(album.getId());
+
+		verificarPlanes();
+	}
+
+	@Test
+	void consultasDeAlbumNoRecorrenTablasCalientes() {
+		albumRepository.findById(album.getId());
+		albumRepository.findResponseById(album.getId());
+		albumRepository.findByActiveTrue();
+		albumRepository.findResponseByActiveTrue();
+
+		verificarPlanes();
+	}
+
+	// Explicar cada SELECT capturado y rechazar los recorridos completos de tablas calientes
+	private void verificarPlanes() {
+		List<String> consultas = CapturadorSql.consultas();
+		assertThat(consultas).isNotEmpty();
+
+		for (String sql : consultas) {
+			String plan = explicar(sql);
+			for (String tabla : TABLAS_CALIENTES) {
+				assertThat(plan.toLowerCase(Locale.ROOT))
+					.as("Recorrido completo de %s en:%n%s", tabla, plan)
+					.doesNotContain("public." + tabla + ".tablescan");
+			}
+		}
+	}
+
+	// El valor de los parámetros no cambia el índice elegido; H2 convierte '1' al tipo de cada columna
+	private String explicar(String sql) {
+		int parametros = (int) sql.chars().filter(c -> c == '?').count();
+		Object[] valores = Collections.nCopies(parametros, "1").toArray();
+		List<String> plan = new JdbcTemplate(dataSource).queryForList("EXPLAIN " + sql, String.class, valores);
+		return String.join("\n", plan);
+	}
+
+	// Registra cada SELECT que Hibernate envía a la base de datos
+	public static class CapturadorSql implements StatementInspector {
+
+		private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+				CONSULTAS.add(sql);
+			}
+			return sql;
+		}
+
+		static List<String> consultas() {
+			return List.copyOf(CONSULTAS);
+		}
+
+		static void limpiar() {
+			CONSULTAS.clear();
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.ArchivoRestauracionDTO;
+import ipss.web2.examen.dtos.LaminaCargaResponseDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Compactación de bajas hacia las tablas de archivo y restauración de un álbum archivado.
+// Con retención negativa toda baja ya está vencida
+@SpringBootTest(properties = {
+	"app.datos.modo=ninguno",
+	"app.archivo.retencion=-PT1M",
+	"app.archivo.pausa=PT0S"
+})
+@ActiveProfiles("h2")
+class ArchivoServiceTests {
+
+	@Autowired
+	private ArchivoService archivoService;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private AlbumVersionService albumVersionService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private LaminaService laminaService;
+
+	@Autowired
+	private LaminaConteoService laminaConteoService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void compactarMueveLasLaminasDadasDeBaja() {
+		Long albumId = crearAlbum("Bajas");
+		crearCatalogo(albumId, "Messi");
+		LaminaCargaResponseDTO baja = laminaService.agregarLamina(albumId, lamina("Messi"));
+		laminaService.agregarLamina(albumId, lamina("Messi"));
+		laminaService.eliminarLamina(baja.lamina().getId());
+
+		archivoService.compactar();
+
+		assertThat(contar("lamina", albumId)).isEqualTo(1);
+		assertThat(contar("lamina_archivo", albumId)).isEqualTo(1);
+		assertThat(laminaService.obtenerResumen(albumId).totalLaminas()).isEqualTo(1);
+	}
+
+	@Test
+	void albumArchivadoSeRestauraConCatalogoLaminasYContadores() {
+		Long albumId = crearAlbum("Archivado");
+		Map<String, Long> catalogo = crearCatalogo(albumId, "Alexis", "Vidal");
+		laminaService.agregarLamina(albumId, lamina("Alexis"));
+		laminaService.agregarLamina(albumId, lamina("Alexis"));
+		laminaService.agregarLamina(albumId, lamina("Vidal"));
+		albumService.eliminarAlbum(albumId);
+		long versionListado = albumVersionService.obtenerListado().version();
+
+		archivoService.compactar();
+
+		assertThatThrownBy(() -> albumService.obtenerAlbumPorId(albumId))
+			.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(contar("album_archivo", albumId, "id")).isEqualTo(1);
+		assertThat(contar("lamina_catalogo_archivo", albumId)).isEqualTo(2);
+		assertThat(contar("lamina_archivo", albumId)).isEqualTo(3);
+		// Archivar borra la fila del álbum: la versión del listado igual crece
+		assertThat(albumVersionService.obtenerListado().version()).isGreaterThan(versionListado);
+
+		ArchivoRestauracionDTO restauracion = archivoService.restaurarAlbum(albumId);
+
+		assertThat(restauracion.laminasCatalogo()).isEqualTo(2);
+		assertThat(restauracion.laminas()).isEqualTo(3);
+		assertThat(albumService.obtenerAlbumPorId(albumId).getNombre()).isEqualTo("Archivado");
+		assertThat(contar("album_archivo", albumId, "id")).isZero();
+		assertThat(laminaConteoService.obtenerConteos(albumId))
+			.containsEntry(catalogo.get("Alexis"), 2)
+			.containsEntry(catalogo.get("Vidal"), 1);
+	}
+
+	@Test
+	void restaurarUnAlbumQueNoEstaArchivadoResponde404() {
+		Long albumId = crearAlbum("Vigente");
+
+		assertThatThrownBy(() -> archivoService.restaurarAlbum(albumId))
+			.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	private int contar(String tabla, Long albumId) {
+		return contar(tabla, albumId, "album_id");
+	}
+
+	private int contar(String tabla, Long albumId, String columna) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabla + " WHERE " + columna + " = ?",
+			Integer.class, albumId);
+	}
+
+	private Long crearAlbum(String nombre) {
+		return albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+	}
+
+	private Map<String, Long> crearCatalogo(Long albumId, String... nombres) {
+		List<LaminaCatalogoRequestDTO> laminas = List.of(nombres).stream()
+			.map(nombre -> new LaminaCatalogoRequestDTO(nombre, null, LocalDate.of(2026, 1, 1), "Jugador"))
+			.toList();
+		return catalogoService.crearCatalogo(albumId, laminas).stream()
+			.collect(Collectors.toMap(LaminaCatalogoResponseDTO::nombre, LaminaCatalogoResponseDTO::id));
+	}
+
+	private static LaminaRequestDTO lamina(String nombre) {
+		return new LaminaRequestDTO(null, nombre, null, LocalDate.of(2026, 1, 1), "Jugador");
+	}
+}
@@ -0,0 +1,113 @@
+package ipss.web2.examen.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Índice de búsqueda: plegado de tildes, distancia de edición acotada, umbral de trigramas,
+// números solo por prefijo y limpieza de nombres cuando cambia el catálogo de un álbum
+class BusquedaIndexTests {
+
+	@Test
+	void plegarQuitaTildesYSignos() {
+		assertThat(BusquedaIndex.plegar("Vegeta - El Príncipe")).isEqualTo("vegeta el principe");
+		assertThat(BusquedaIndex.plegar("  Ñandú #12 ")).isEqualTo("nandu 12");
+		assertThat(BusquedaIndex.plegar("¡¿?!")).isEmpty();
+		assertThat(BusquedaIndex.plegar(null)).isEmpty();
+	}
+
+	@Test
+	void distanciaSeCortaAlSuperarElMaximo() {
+		assertThat(BusquedaIndex.distancia("messi", "messi", 2)).isZero();
+		assertThat(BusquedaIndex.distancia("mesi", "messi", 2)).isEqualTo(1);
+		assertThat(BusquedaIndex.distancia("kitten", "sitting", 3)).isEqualTo(3);
+		// Por encima del máximo se devuelve maxima + 1, no la distancia real
+		assertThat(BusquedaIndex.distancia("kitten", "sitting", 1)).isEqualTo(2);
+		assertThat(BusquedaIndex.distancia("abc", "xyzxyz", 2)).isEqualTo(3);
+		assertThat(BusquedaIndex.distancia("", "ab", 2)).isEqualTo(2);
+	}
+
+	@Test
+	void sinTildesPrefijoYErroresDeTipeo() {
+		BusquedaIndex indice = indice(1, "Vegeta - El Príncipe", "Piccolo", "Gohan");
+
+		assertThat(nombres(indice.buscar("principe", 10, 2, n -> true))).containsExactly("Vegeta - El Príncipe");
+		assertThat(indice.buscar("pic", 10, 2, n -> true)).singleElement()
+			.extracting(BusquedaIndex.Resultado::coincidencia).isEqualTo(BusquedaIndex.Coincidencia.PREFIJO);
+		assertThat(indice.buscar("picolo", 10, 2, n -> true)).singleElement()
+			.satisfies(r -> {
+				assertThat(r.nombre()).isEqualTo("Piccolo");
+				assertThat(r.coincidencia()).isEqualTo(BusquedaIndex.Coincidencia.APROXIMADA);
+				assertThat(r.distancia()).isEqualTo(1);
+			});
+	}
+
+	@Test
+	void palabrasCortasAdmitenUnaSolaEdicion() {
+		BusquedaIndex indice = indice(1, "Goku", "Gohan");
+
+		// Hasta cuatro letras el máximo baja a 1 aunque se pidan 2
+		assertThat(nombres(indice.buscar("gokk", 10, 2, n -> true))).containsExactly("Goku");
+		assertThat(indice.buscar("gakk", 10, 2, n -> true)).isEmpty();
+		// Menos de tres caracteres: solo prefijo
+		assertThat(indice.buscar("gx", 10, 2, n -> true)).isEmpty();
+	}
+
+	@Test
+	void umbralDeTrigramasDescartaPalabrasLejanas() {
+		BusquedaIndex indice = indice(1, "Trunks", "Krilin", "Goku");
+
+		// "trunsk" comparte 3 de 6 trigramas con "trunks": con 2 ediciones el mínimo es 6 - 3 * 2
+		assertThat(nombres(indice.buscar("trunsk", 10, 2, n -> true))).containsExactly("Trunks");
+		// Con 1 edición el mínimo sube a 3: pasa el filtro pero la transposición son dos ediciones
+		assertThat(indice.buscar("trunsk", 10, 1, n -> true)).isEmpty();
+		// El umbral no pierde coincidencias: "gaku" comparte solo "ku " con "goku" y está a una edición
+		assertThat(nombres(indice.buscar("gaku", 10, 2, n -> true))).containsExactly("Goku");
+		// Sin trigramas en común no hay candidatas
+		assertThat(indice.buscar("xylofon", 10, 2, n -> true)).isEmpty();
+	}
+
+	@Test
+	void numerosSoloPorPrefijo() {
+		BusquedaIndex indice = indice(1, "Lámina 4217", "Lámina 52");
+
+		assertThat(nombres(indice.buscar("421", 10, 2, n -> true))).containsExactly("Lámina 4217");
+		// "4218" no es un error de tipeo de "4217"
+		assertThat(indice.buscar("4218", 10, 2, n -> true)).isEmpty();
+		assertThat(indice.buscar("lamina 4218", 10, 2, n -> true)).isEmpty();
+	}
+
+	@Test
+	void cambioDeCatalogoDescuentaLosNombresDelAlbum() {
+		BusquedaIndex indice = indice(1, "Goku", "Vegeta");
+		indice.actualizarAlbum(2, List.of("Goku"));
+		assertThat(indice.buscar("goku", 10, 2, n -> true)).singleElement()
+			.extracting(BusquedaIndex.Resultado::albumes).isEqualTo(2);
+
+		// El álbum 1 cambia su catálogo: "Vegeta" desaparece y "Goku" queda solo en el álbum 2
+		indice.actualizarAlbum(1, List.of("Bulma"));
+		assertThat(indice.nombres()).isEqualTo(2);
+		assertThat(indice.buscar("vegeta", 10, 2, n -> true)).isEmpty();
+		assertThat(indice.buscar("vegita", 10, 2, n -> true)).isEmpty();
+		assertThat(indice.buscar("goku", 10, 2, n -> true)).singleElement()
+			.extracting(BusquedaIndex.Resultado::albumes).isEqualTo(1);
+
+		// Sin catálogo activo el álbum deja de aportar nombres
+		indice.actualizarAlbum(1, List.of());
+		indice.actualizarAlbum(2, List.of());
+		assertThat(indice.nombres()).isZero();
+		assertThat(indice.buscar("goku", 10, 2, n -> true)).isEmpty();
+	}
+
+	private static BusquedaIndex indice(long albumId, String... nombres) {
+		BusquedaIndex indice = new BusquedaIndex();
+		indice.actualizarAlbum(albumId, List.of(nombres));
+		return indice;
+	}
+
+	private static List<String> nombres(List<BusquedaIndex.Resultado> resultados) {
+		return resultados.stream().map(BusquedaIndex.Resultado::nombre).toList();
+	}
+}
@@ -0,0 +1,70 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.CargaMasivaJobDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import ipss.web2.examen.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Jobs de carga masiva: los finalizados que exceden finalizados-maximo se descartan desde el
+// más antiguo sin esperar la retención
+@SpringBootTest(properties = {
+	"app.datos.modo=ninguno",
+	"app.laminas.carga-masiva.jobs.hilos=1",
+	"app.laminas.carga-masiva.jobs.finalizados-maximo=2"
+})
+@ActiveProfiles("h2")
+class CargaMasivaJobServiceTests {
+
+	@Autowired
+	private CargaMasivaJobService cargaMasivaJobService;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Test
+	void finalizadosSobreElMaximoSeDescartanDesdeElMasAntiguo() {
+		Long albumId = albumService.crearAlbum(new AlbumRequestDTO("Jobs", 2026, "Álbum de prueba")).getId();
+		catalogoService.crearCatalogo(albumId,
+			List.of(new LaminaCatalogoRequestDTO("Messi", null, LocalDate.of(2026, 1, 1), "Jugador")));
+
+		String primero = ejecutar(albumId);
+		String segundo = ejecutar(albumId);
+		assertThat(cargaMasivaJobService.obtener(primero, null, null).estado()).isEqualTo("COMPLETADO");
+
+		String tercero = ejecutar(albumId);
+
+		await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+			assertThatThrownBy(() -> cargaMasivaJobService.obtener(primero, null, null))
+				.isInstanceOf(ResourceNotFoundException.class));
+		assertThat(cargaMasivaJobService.obtener(segundo, null, null).resultados().items()).hasSize(1);
+		assertThat(cargaMasivaJobService.obtener(tercero, null, null).resultados().items()).hasSize(1);
+	}
+
+	// Crear un job de una lámina y esperar a que finalice
+	private String ejecutar(Long albumId) {
+		String id = cargaMasivaJobService.crear(new LaminaCargueMasivoRequestDTO(albumId,
+			List.of(new LaminaRequestDTO(null, "Messi", null, LocalDate.of(2026, 1, 1), "Jugador")))).id();
+		await().atMost(Duration.ofSeconds(10)).until(() -> {
+			CargaMasivaJobDTO job = cargaMasivaJobService.obtener(id, null, null);
+			return !job.estado().equals("EN_COLA") && !job.estado().equals("EN_PROCESO");
+		});
+		return id;
+	}
+}
@@ -0,0 +1,82 @@
+package ipss.web2.examen.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Carga masiva NDJSON: bloques de tamano-bloque-stream líneas con las inválidas en su posición,
+// y error del álbum a mitad del flujo escrito como línea NDJSON
+@SpringBootTest(properties = {
+	"app.datos.modo=ninguno",
+	"app.laminas.carga-masiva.tamano-bloque-stream=3"
+})
+@ActiveProfiles("h2")
+class CargaMasivaStreamServiceTests {
+
+	private static final String VALIDA = """
+		{"nombre": "Messi", "fechaLanzamiento": "2026-01-01", "tipoLamina": "Jugador"}
+		""";
+	private static final String INVALIDA = """
+		{"nombre": "Sin fecha", "tipoLamina": "Jugador"}
+		""";
+
+	@Autowired
+	private CargaMasivaStreamService cargaMasivaStreamService;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void lineasInvalidasNoFuerzanNuevosBloques() throws Exception {
+		Long albumId = albumService.crearAlbum(new AlbumRequestDTO("Stream", 2026, "Álbum de prueba")).getId();
+		catalogoService.crearCatalogo(albumId,
+			List.of(new LaminaCatalogoRequestDTO("Messi", null, LocalDate.of(2026, 1, 1), "Jugador")));
+
+		List<LaminaCargueMasivoResponseDTO> resultados = procesar(albumId,
+			VALIDA + INVALIDA + VALIDA + INVALIDA + VALIDA + INVALIDA);
+
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::nombre)
+			.containsExactly("Messi", "Sin fecha", "Messi", "Sin fecha", "Messi", "Sin fecha");
+		// Seis líneas en bloques de tres: dos transacciones, no una por línea válida
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::bloque)
+			.containsExactly(1, null, 1, null, 2, null);
+		assertThat(resultados.get(1).estado()).startsWith("❌ NO AGREGADA");
+		assertThat(resultados.get(4).esRepetida()).isTrue();
+	}
+
+	@Test
+	void albumInexistenteSeInformaComoLineaDeError() throws Exception {
+		List<LaminaCargueMasivoResponseDTO> resultados = procesar(999_999L, VALIDA + VALIDA);
+
+		assertThat(resultados).hasSize(1);
+		assertThat(resultados.get(0).estado()).startsWith("❌ ERROR");
+	}
+
+	private List<LaminaCargueMasivoResponseDTO> procesar(Long albumId, String ndjson) throws Exception {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		cargaMasivaStreamService.procesar(albumId,
+			new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), salida);
+		return objectMapper.readerFor(LaminaCargueMasivoResponseDTO.class)
+			.<LaminaCargueMasivoResponseDTO>readValues(salida.toByteArray())
+			.readAll();
+	}
+}
@@ -0,0 +1,90 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.config.CacheConfig;
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Caché del índice de catálogo por álbum: se reutiliza entre llamadas y se invalida al cambiar
+// el catálogo, también después del commit de la transacción que lo cambió
+@SpringBootTest(properties = "app.datos.modo=ninguno")
+@ActiveProfiles("h2")
+class CatalogoCacheServiceTests {
+
+	@Autowired
+	private CatalogoCacheService catalogoCacheService;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void indiceSeCacheaYSeInvalidaAlActualizarElCatalogo() {
+		Long albumId = crearAlbum("Caché");
+		catalogoService.crearCatalogo(albumId, List.of(catalogo("Messi")));
+
+		CatalogoIndex indice = catalogoCacheService.obtenerIndice(albumId);
+		assertThat(catalogoCacheService.obtenerIndice(albumId)).isSameAs(indice);
+		assertThat(indice.contiene("messi")).isTrue();
+
+		catalogoService.actualizarCatalogo(albumId, List.of(catalogo("Messi"), catalogo("Bravo")), false, false);
+
+		CatalogoIndex actualizado = catalogoCacheService.obtenerIndice(albumId);
+		assertThat(actualizado).isNotSameAs(indice);
+		assertThat(actualizado.contiene("Bravo")).isTrue();
+		assertThat(actualizado.size()).isEqualTo(2);
+	}
+
+	@Test
+	void lecturaDentroDeLaTransaccionNoQuedaEnCacheTrasElCommit() {
+		Long albumId = crearAlbum("Commit");
+		catalogoService.crearCatalogo(albumId, List.of(catalogo("Vidal")));
+
+		transactionTemplate.executeWithoutResult(estado -> {
+			catalogoCacheService.invalidar(albumId);
+			// Una lectura anterior al commit vuelve a poblar la caché...
+			catalogoCacheService.obtenerIndice(albumId);
+			assertThat(cacheManager.getCache(CacheConfig.CATALOGOS).get(albumId)).isNotNull();
+		});
+
+		// ...y el commit la invalida de nuevo
+		assertThat(cacheManager.getCache(CacheConfig.CATALOGOS).get(albumId)).isNull();
+	}
+
+	@Test
+	void simularNoInvalidaLaCache() {
+		Long albumId = crearAlbum("Simulación");
+		catalogoService.crearCatalogo(albumId, List.of(catalogo("Alexis")));
+		CatalogoIndex indice = catalogoCacheService.obtenerIndice(albumId);
+
+		catalogoService.actualizarCatalogo(albumId, List.of(catalogo("Alexis"), catalogo("Zamorano")), false, true);
+
+		assertThat(catalogoCacheService.obtenerIndice(albumId)).isSameAs(indice);
+	}
+
+	private Long crearAlbum(String nombre) {
+		return albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+	}
+
+	private static LaminaCatalogoRequestDTO catalogo(String nombre) {
+		return new LaminaCatalogoRequestDTO(nombre, null, LocalDate.of(2026, 1, 1), "Jugador");
+	}
+}
@@ -0,0 +1,103 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.CatalogoCambiosDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.exceptions.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Actualización incremental del catálogo: diferencias contra el vigente (agregadas, modificadas,
+// reactivadas, eliminadas, sin cambios), simulación y versión de catálogo
+@SpringBootTest(properties = "app.datos.modo=ninguno")
+@ActiveProfiles("h2")
+class CatalogoServiceTests {
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private CatalogoCacheService catalogoCacheService;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Test
+	void actualizarCalculaLasDiferenciasYSubeLaVersion() {
+		Long albumId = crearAlbum("Diferencias");
+		catalogoService.crearCatalogo(albumId, List.of(catalogo("Messi", "Jugador"), catalogo("Alexis", "Jugador"),
+			catalogo("Vidal", "Jugador")));
+
+		CatalogoCambiosDTO cambios = catalogoService.actualizarCatalogo(albumId,
+			List.of(catalogo("Messi", "Jugador"), catalogo("Alexis", "Capitán"), catalogo("Bravo", "Arquero")),
+			true, false);
+
+		assertThat(cambios.simulado()).isFalse();
+		assertThat(cambios.agregadas()).extracting(LaminaCatalogoResponseDTO::nombre).containsExactly("Bravo");
+		assertThat(cambios.agregadas().get(0).id()).isNotNull();
+		assertThat(cambios.modificadas()).extracting(LaminaCatalogoResponseDTO::tipoLamina).containsExactly("Capitán");
+		assertThat(cambios.eliminadas()).containsExactly("Vidal");
+		assertThat(cambios.sinCambios()).isEqualTo(1);
+		assertThat(cambios.catalogoVersion()).isEqualTo(2);
+		assertThat(catalogoCacheService.obtenerIndice(albumId).contiene("Vidal")).isFalse();
+
+		// Sin reemplazar, una lámina dada de baja vuelve como agregada (se reactiva su fila)
+		CatalogoCambiosDTO reactivacion = catalogoService.actualizarCatalogo(albumId,
+			List.of(catalogo("vidal", "Jugador")), false, false);
+
+		assertThat(reactivacion.agregadas()).extracting(LaminaCatalogoResponseDTO::nombre).containsExactly("vidal");
+		assertThat(reactivacion.eliminadas()).isEmpty();
+		assertThat(catalogoCacheService.obtenerIndice(albumId).size()).isEqualTo(4);
+	}
+
+	@Test
+	void simularOSinCambiosNoSubeLaVersion() {
+		Long albumId = crearAlbum("Simulado");
+		CatalogoCambiosDTO creado = catalogoService.actualizarCatalogo(albumId,
+			List.of(catalogo("Messi", "Jugador")), false, false);
+
+		CatalogoCambiosDTO simulado = catalogoService.actualizarCatalogo(albumId,
+			List.of(catalogo("Zamorano", "Jugador")), true, true);
+		CatalogoCambiosDTO igual = catalogoService.actualizarCatalogo(albumId,
+			List.of(catalogo("Messi", "Jugador")), false, false);
+
+		assertThat(simulado.simulado()).isTrue();
+		assertThat(simulado.agregadas()).extracting(LaminaCatalogoResponseDTO::nombre).containsExactly("Zamorano");
+		assertThat(simulado.eliminadas()).containsExactly("Messi");
+		assertThat(simulado.catalogoVersion()).isEqualTo(creado.catalogoVersion());
+		assertThat(igual.sinCambios()).isEqualTo(1);
+		assertThat(igual.catalogoVersion()).isEqualTo(creado.catalogoVersion());
+		assertThat(catalogoCacheService.obtenerIndice(albumId).contiene("Zamorano")).isFalse();
+	}
+
+	@Test
+	void nombresRepetidosYCatalogoExistenteSeRechazan() {
+		Long albumId = crearAlbum("Rechazos");
+		catalogoService.crearCatalogo(albumId, List.of(catalogo("Messi", "Jugador")));
+
+		assertThatThrownBy(() -> catalogoService.actualizarCatalogo(albumId,
+				List.of(catalogo("Alexis", "Jugador"), catalogo("ALEXIS", "Jugador")), false, false))
+			.isInstanceOf(InvalidOperationException.class)
+			.extracting("errorCode").isEqualTo("CATALOG_DUPLICATE_NAME");
+		assertThatThrownBy(() -> catalogoService.crearCatalogo(albumId, List.of(catalogo("Alexis", "Jugador"))))
+			.isInstanceOf(InvalidOperationException.class)
+			.extracting("errorCode").isEqualTo("CATALOG_EXISTS");
+	}
+
+	private Long crearAlbum(String nombre) {
+		return albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+	}
+
+	private static LaminaCatalogoRequestDTO catalogo(String nombre, String tipo) {
+		return new LaminaCatalogoRequestDTO(nombre, null, LocalDate.of(2026, 1, 1), tipo);
+	}
+}
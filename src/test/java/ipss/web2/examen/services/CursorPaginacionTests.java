@@ -0,0 +1,67 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.exceptions.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Cursor opaco de paginación: ida y vuelta, sin cursor desde el principio, y valores mal
+// formados o fuera de rango rechazados como INVALID_CURSOR
+class CursorPaginacionTests {
+
+	@Test
+	void cursorCodificadoSeDecodificaAlMismoId() {
+		String cursor = CursorPaginacion.codificar(1234L);
+
+		assertThat(cursor).doesNotContain("1234").doesNotContain("=");
+		assertThat(CursorPaginacion.decodificar(cursor)).isEqualTo(1234L);
+		assertThat(CursorPaginacion.decodificar(CursorPaginacion.codificar(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void sinCursorSeEmpiezaDesdeCero() {
+		assertThat(CursorPaginacion.decodificar(null)).isZero();
+		assertThat(CursorPaginacion.decodificar(" ")).isZero();
+		assertThat(CursorPaginacion.decodificarPosicion(null)).isZero();
+	}
+
+	@Test
+	void cursorMalFormadoEsInvalido() {
+		String sinPrefijo = Base64.getUrlEncoder().encodeToString("42".getBytes(StandardCharsets.UTF_8));
+
+		for (String cursor : List.of("no-es-base64!", sinPrefijo, CursorPaginacion.codificar(null))) {
+			assertThatThrownBy(() -> CursorPaginacion.decodificar(cursor))
+				.isInstanceOf(InvalidOperationException.class)
+				.extracting("errorCode").isEqualTo("INVALID_CURSOR");
+		}
+	}
+
+	@Test
+	void cursorNegativoEsInvalido() {
+		String cursor = CursorPaginacion.codificar(-1L);
+
+		assertThatThrownBy(() -> CursorPaginacion.decodificar(cursor))
+			.isInstanceOf(InvalidOperationException.class)
+			.extracting("errorCode").isEqualTo("INVALID_CURSOR");
+		assertThatThrownBy(() -> CursorPaginacion.decodificarPosicion(cursor))
+			.isInstanceOf(InvalidOperationException.class)
+			.extracting("errorCode").isEqualTo("INVALID_CURSOR");
+	}
+
+	@Test
+	void posicionMayorQueUnIntEsInvalida() {
+		long fueraDeRango = Integer.MAX_VALUE + 1L;
+
+		assertThat(CursorPaginacion.decodificar(CursorPaginacion.codificar(fueraDeRango))).isEqualTo(fueraDeRango);
+		assertThat(CursorPaginacion.decodificarPosicion(CursorPaginacion.codificar((long) Integer.MAX_VALUE)))
+			.isEqualTo(Integer.MAX_VALUE);
+		assertThatThrownBy(() -> CursorPaginacion.decodificarPosicion(CursorPaginacion.codificar(fueraDeRango)))
+			.isInstanceOf(InvalidOperationException.class)
+			.extracting("errorCode").isEqualTo("INVALID_CURSOR");
+	}
+}
@@ -0,0 +1,43 @@
+package ipss.web2.examen.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Índice de intercambios: actualizaciones fuera de orden por versión de datos e IDs de álbum long
+class IntercambioIndexTests {
+
+	@Test
+	void actualizacionMasAntiguaSeDescarta() {
+		IntercambioIndex indice = new IntercambioIndex();
+		indice.actualizarAlbum(1, 0, List.of("Messi"), List.of("Vidal"));
+		indice.actualizarAlbum(2, 3, List.of("Vidal"), List.of("Messi"));
+
+		// El listener de la versión 2 termina después que el de la 3
+		assertThat(indice.actualizarAlbum(2, 2, List.of(), List.of())).isFalse();
+		assertThat(indice.buscarCandidatos(1, 10)).extracting(IntercambioIndex.Candidato::albumId)
+			.containsExactly(2L);
+
+		// Una baja posterior tampoco se revierte con una lectura anterior
+		assertThat(indice.quitarAlbum(2, 4)).isTrue();
+		assertThat(indice.actualizarAlbum(2, 3, List.of("Vidal"), List.of("Messi"))).isFalse();
+		assertThat(indice.buscarCandidatos(1, 10)).isEmpty();
+	}
+
+	@Test
+	void idsDeAlbumMayoresQueUnInt() {
+		long grande = Integer.MAX_VALUE + 10L;
+		IntercambioIndex indice = new IntercambioIndex();
+		indice.actualizarAlbum(grande, 0, List.of("Messi"), List.of("Vidal"));
+		indice.actualizarAlbum(7, 0, List.of("Vidal"), List.of("Messi"));
+
+		List<IntercambioIndex.Candidato> candidatos = indice.buscarCandidatos(7, 10);
+
+		assertThat(candidatos).extracting(IntercambioIndex.Candidato::albumId).containsExactly(grande);
+		assertThat(candidatos.get(0).recibe()).containsExactly("Messi");
+		assertThat(candidatos.get(0).entrega()).containsExactly("Vidal");
+		assertThat(indice.buscarCandidatos(Long.MAX_VALUE, 10)).isEmpty();
+	}
+}
@@ -0,0 +1,73 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.IntercambioCandidatoDTO;
+import ipss.web2.examen.dtos.LaminaCargaResponseDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Índice de intercambios actualizado en segundo plano después de cada commit
+@SpringBootTest(properties = "app.datos.modo=ninguno")
+@ActiveProfiles("h2")
+class IntercambioServiceTests {
+
+	@Autowired
+	private IntercambioService intercambioService;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private LaminaService laminaService;
+
+	@Test
+	void cambiosConfirmadosLleganAlIndice() {
+		Long albumA = crearAlbumConCatalogo("Intercambio A");
+		Long albumB = crearAlbumConCatalogo("Intercambio B");
+		laminaService.agregarLamina(albumA, lamina("Messi"));
+		laminaService.agregarLamina(albumA, lamina("Messi"));
+		laminaService.agregarLamina(albumB, lamina("Vidal"));
+		LaminaCargaResponseDTO repetida = laminaService.agregarLamina(albumB, lamina("Vidal"));
+
+		await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+			assertThat(intercambioService.buscarCandidatos(albumA, null))
+				.extracting(IntercambioCandidatoDTO::albumId)
+				.containsExactly(albumB));
+		IntercambioCandidatoDTO candidato = intercambioService.buscarCandidatos(albumA, null).get(0);
+		assertThat(candidato.recibe()).containsExactly("Vidal");
+		assertThat(candidato.entrega()).containsExactly("Messi");
+
+		// Con una sola copia de Vidal, B ya no tiene qué entregar
+		laminaService.eliminarLamina(repetida.lamina().getId());
+
+		await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+			assertThat(intercambioService.buscarCandidatos(albumA, null)).isEmpty());
+		assertThat(intercambioService.desactualizado()).isFalse();
+	}
+
+	private Long crearAlbumConCatalogo(String nombre) {
+		Long albumId = albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+		catalogoService.crearCatalogo(albumId, List.of(
+			new LaminaCatalogoRequestDTO("Messi", null, LocalDate.of(2026, 1, 1), "Jugador"),
+			new LaminaCatalogoRequestDTO("Vidal", null, LocalDate.of(2026, 1, 1), "Jugador")));
+		return albumId;
+	}
+
+	private static LaminaRequestDTO lamina(String nombre) {
+		return new LaminaRequestDTO(null, nombre, null, LocalDate.of(2026, 1, 1), "Jugador");
+	}
+}
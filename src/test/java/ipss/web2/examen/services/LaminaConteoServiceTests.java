@@ -0,0 +1,122 @@
+package ipss.web2.examen.services;
+
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.AlbumResponseDTO;
+import ipss.web2.examen.dtos.LaminaCargaResponseDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import ipss.web2.examen.dtos.LaminasResumenDTO;
+import ipss.web2.examen.dtos.ReconciliacionConteoDTO;
+import ipss.web2.examen.repositories.LaminaConteoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Contadores materializados de copias: datos de demostración, altas y bajas de LaminaService
+// y corrección del desvío en la reconciliación
+@SpringBootTest
+@ActiveProfiles("h2")
+class LaminaConteoServiceTests {
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private LaminaService laminaService;
+
+	@Autowired
+	private LaminaConteoService laminaConteoService;
+
+	@Autowired
+	private LaminaConteoRepository laminaConteoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void datosDeDemostracionTienenContadores() {
+		AlbumResponseDTO album = albumService.obtenerTodosLosAlbums().stream()
+			.filter(a -> a.getNombre().equals("Caballeros del Zodiaco"))
+			.findFirst()
+			.orElseThrow();
+
+		LaminasResumenDTO resumen = laminaConteoService.obtenerResumen(album.getId());
+
+		assertThat(resumen.catalogoTotal()).isEqualTo(3);
+		assertThat(resumen.totalLaminas()).isEqualTo(3);
+		assertThat(resumen.laminasPoseidasDistintas()).isEqualTo(2);
+		assertThat(resumen.laminasFaltantesTotal()).isEqualTo(1);
+		assertThat(resumen.laminasRepetidastotal()).isEqualTo(2);
+	}
+
+	@Test
+	void altasYBajasActualizanLosContadores() {
+		Long albumId = crearAlbum("Conteo");
+		Map<String, Long> catalogo = crearCatalogo(albumId, "Messi", "Alexis");
+
+		LaminaCargaResponseDTO primera = laminaService.agregarLamina(albumId, lamina("Messi"));
+		laminaService.agregarLamina(albumId, lamina("Messi"));
+		laminaService.agregarLamina(albumId, lamina("alexis"));
+
+		assertThat(laminaConteoService.obtenerConteos(albumId))
+			.containsEntry(catalogo.get("Messi"), 2)
+			.containsEntry(catalogo.get("Alexis"), 1);
+
+		laminaService.eliminarLamina(primera.lamina().getId());
+		// Eliminar dos veces no descuenta dos veces
+		laminaService.eliminarLamina(primera.lamina().getId());
+
+		assertThat(laminaConteoService.obtenerConteos(albumId)).containsEntry(catalogo.get("Messi"), 1);
+		assertThat(laminaConteoService.reconciliar(albumId).entradasConDesvio()).isZero();
+	}
+
+	@Test
+	void reconciliarCorrigeElDesvio() {
+		Long albumId = crearAlbum("Desvío");
+		Map<String, Long> catalogo = crearCatalogo(albumId, "Vidal", "Bravo");
+		laminaService.agregarLamina(albumId, lamina("Vidal"));
+		transactionTemplate.executeWithoutResult(estado -> {
+			laminaConteoRepository.fijarCantidad(albumId, catalogo.get("Vidal"), 5);
+			laminaConteoRepository.fijarCantidad(albumId, catalogo.get("Bravo"), 2);
+		});
+
+		ReconciliacionConteoDTO resultado = laminaConteoService.reconciliar(albumId);
+
+		assertThat(resultado.entradasRevisadas()).isEqualTo(2);
+		assertThat(resultado.entradasConDesvio()).isEqualTo(2);
+		assertThat(resultado.desvioTotal()).isEqualTo(6);
+		assertThat(laminaConteoService.obtenerConteos(albumId))
+			.containsEntry(catalogo.get("Vidal"), 1)
+			.containsEntry(catalogo.get("Bravo"), 0);
+	}
+
+	private Long crearAlbum(String nombre) {
+		return albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+	}
+
+	private Map<String, Long> crearCatalogo(Long albumId, String... nombres) {
+		List<LaminaCatalogoRequestDTO> laminas = Arrays.stream(nombres)
+			.map(nombre -> new LaminaCatalogoRequestDTO(nombre, null, LocalDate.of(2026, 1, 1), "Jugador"))
+			.toList();
+		return catalogoService.crearCatalogo(albumId, laminas).stream()
+			.collect(Collectors.toMap(LaminaCatalogoResponseDTO::nombre, LaminaCatalogoResponseDTO::id));
+	}
+
+	private static LaminaRequestDTO lamina(String nombre) {
+		return new LaminaRequestDTO(null, nombre, null, LocalDate.of(2026, 1, 1), "Jugador");
+	}
+}
@@ -0,0 +1,200 @@
+package ipss.web2.examen.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import ipss.web2.examen.dtos.AlbumRequestDTO;
+import ipss.web2.examen.dtos.LaminaCargaResponseDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCargueMasivoResponseDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoRequestDTO;
+import ipss.web2.examen.dtos.LaminaCatalogoResponseDTO;
+import ipss.web2.examen.dtos.LaminaRequestDTO;
+import ipss.web2.examen.dtos.LaminaResponseDTO;
+import ipss.web2.examen.dtos.PaginaDTO;
+import ipss.web2.examen.metrics.LaminaMetricas;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Carga masiva por conjuntos: copias existentes, copias dentro de la carga (aunque caigan en
+// bloques distintos) y láminas fuera del catálogo. Alta individual contada por la entrada del
+// catálogo, igual que la carga masiva. Métricas de un bloque revertido. Paginación por cursor: recorrido completo
+// y límites del tamaño de página
+@SpringBootTest(properties = {
+	"app.datos.modo=ninguno",
+	"app.laminas.carga-masiva.tamano-bloque=2",
+	"app.paginacion.tamano-defecto=2",
+	"app.paginacion.tamano-maximo=3"
+})
+@ActiveProfiles("h2")
+class LaminaServiceTests {
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private CatalogoService catalogoService;
+
+	@Autowired
+	private LaminaService laminaService;
+
+	@Autowired
+	private LaminaConteoService laminaConteoService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void cargaMasivaCuentaLasCopiasExistentesYLasDeLaCarga() {
+		Long albumId = crearAlbum("Masiva");
+		Map<String, Long> catalogo = crearCatalogo(albumId, "Messi", "Alexis");
+		laminaService.agregarLamina(albumId, lamina("Messi"));
+
+		List<LaminaCargueMasivoResponseDTO> resultados = laminaService.agregarLaminasMasivo(
+			new LaminaCargueMasivoRequestDTO(albumId,
+				List.of(lamina("Messi"), lamina("Pelé"), lamina("MESSI"), lamina("Alexis"))));
+
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::nombre)
+			.containsExactly("Messi", "Pelé", "MESSI", "Alexis");
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::estaEnCatalogo)
+			.containsExactly(true, false, true, true);
+		// La tercera línea cae en el segundo bloque y ve las copias confirmadas por el primero
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::cantidadRepetidas)
+			.containsExactly(2, 0, 3, 1);
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::esRepetida)
+			.containsExactly(true, false, true, false);
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::bloque)
+			.containsExactly(1, 1, 2, 2);
+		assertThat(laminaConteoService.obtenerConteos(albumId))
+			.containsEntry(catalogo.get("Messi"), 3)
+			.containsEntry(catalogo.get("Alexis"), 1);
+	}
+
+	@Test
+	void copiasDeLaMismaLaminaDentroDelBloqueSeCuentanEnOrden() {
+		Long albumId = crearAlbum("Mismo bloque");
+		crearCatalogo(albumId, "Vidal");
+
+		List<LaminaCargueMasivoResponseDTO> resultados = laminaService.agregarLaminasMasivo(
+			new LaminaCargueMasivoRequestDTO(albumId, List.of(lamina("Vidal"), lamina("vidal"))));
+
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::cantidadRepetidas)
+			.containsExactly(1, 2);
+		assertThat(resultados).allSatisfy(resultado -> assertThat(resultado.laminaId()).isNotNull());
+	}
+
+	@Test
+	void bloqueRevertidoSeCuentaUnaSolaVezEnLasMetricas() {
+		Long albumId = crearAlbum("Métricas");
+		crearCatalogo(albumId, "Messi", "Vidal");
+		Map<String, Double> antes = laminasPorResultado();
+
+		// Segundo bloque: la lámina sin tipo viola NOT NULL y revierte el bloque completo
+		List<LaminaCargueMasivoResponseDTO> resultados = laminaService.agregarLaminasMasivo(
+			new LaminaCargueMasivoRequestDTO(albumId, List.of(lamina("Messi"), lamina("Pelé"),
+				lamina("Vidal"), new LaminaRequestDTO(null, "Messi", null, LocalDate.of(2026, 1, 1), null))));
+
+		assertThat(resultados).extracting(LaminaCargueMasivoResponseDTO::estaEnCatalogo)
+			.containsExactly(true, false, false, false);
+		Map<String, Double> despues = laminasPorResultado();
+		assertThat(despues.get(LaminaMetricas.ACEPTADA) - antes.get(LaminaMetricas.ACEPTADA)).isEqualTo(1);
+		assertThat(despues.get(LaminaMetricas.REPETIDA) - antes.get(LaminaMetricas.REPETIDA)).isZero();
+		assertThat(despues.get(LaminaMetricas.RECHAZADA) - antes.get(LaminaMetricas.RECHAZADA)).isEqualTo(3);
+	}
+
+	@Test
+	void altaIndividualCuentaLasCopiasComoLaCargaMasiva() {
+		Long albumId = crearAlbum("Individual");
+		Map<String, Long> catalogo = crearCatalogo(albumId, "Goku");
+
+		LaminaCargaResponseDTO primera = laminaService.agregarLamina(albumId, lamina("Goku"));
+		// Mismo nombre normalizado que la entrada del catálogo: es una copia de la misma lámina
+		LaminaCargaResponseDTO segunda = laminaService.agregarLamina(albumId, lamina("goku"));
+		laminaService.agregarLaminasMasivo(new LaminaCargueMasivoRequestDTO(albumId, List.of(lamina("GOKU"))));
+		LaminaCargaResponseDTO cuarta = laminaService.agregarLamina(albumId, lamina("GoKu"));
+
+		assertThat(primera.esRepetida()).isFalse();
+		assertThat(primera.cantidadRepetidas()).isEqualTo(1);
+		assertThat(segunda.esRepetida()).isTrue();
+		assertThat(segunda.cantidadRepetidas()).isEqualTo(2);
+		assertThat(cuarta.esRepetida()).isTrue();
+		assertThat(cuarta.cantidadRepetidas()).isEqualTo(4);
+		assertThat(laminaConteoService.obtenerConteos(albumId)).containsEntry(catalogo.get("Goku"), 4);
+	}
+
+	@Test
+	void paginasPorCursorRecorrenElAlbumSinRepetir() {
+		Long albumId = crearAlbum("Paginado");
+		crearCatalogo(albumId, "Messi");
+		List<Long> ids = laminaService.agregarLaminasMasivo(new LaminaCargueMasivoRequestDTO(albumId,
+				List.of(lamina("Messi"), lamina("Messi"), lamina("Messi"), lamina("Messi"), lamina("Messi"))))
+			.stream()
+			.map(LaminaCargueMasivoResponseDTO::laminaId)
+			.toList();
+
+		List<Long> recorridos = new ArrayList<>();
+		String cursor = null;
+		int paginas = 0;
+		do {
+			PaginaDTO<LaminaResponseDTO> pagina = laminaService.obtenerLaminasPorAlbum(albumId, cursor, 3);
+			pagina.items().forEach(lamina -> recorridos.add(lamina.getId()));
+			assertThat(pagina.hayMas()).isEqualTo(pagina.siguienteCursor() != null);
+			cursor = pagina.siguienteCursor();
+			paginas++;
+		} while (cursor != null);
+
+		assertThat(recorridos).containsExactlyElementsOf(ids);
+		assertThat(paginas).isEqualTo(2);
+	}
+
+	@Test
+	void tamanoDePaginaUsaElDefectoYSeLimitaAlMaximo() {
+		Long albumId = crearAlbum("Tamaños");
+		crearCatalogo(albumId, "Vidal");
+		laminaService.agregarLaminasMasivo(new LaminaCargueMasivoRequestDTO(albumId,
+			List.of(lamina("Vidal"), lamina("Vidal"), lamina("Vidal"), lamina("Vidal"))));
+
+		assertThat(laminaService.obtenerLaminasPorAlbum(albumId, null, null).tamano()).isEqualTo(2);
+		assertThat(laminaService.obtenerLaminasPorAlbum(albumId, null, 0).tamano()).isEqualTo(2);
+		assertThat(laminaService.obtenerLaminasPorAlbum(albumId, null, 1000).tamano()).isEqualTo(3);
+		assertThat(laminaService.obtenerLaminasPorAlbum(albumId, null, 1000).hayMas()).isTrue();
+		assertThat(laminaService.obtenerLaminasPorAlbum(albumId, null, 4).hayMas()).isTrue();
+	}
+
+	// Láminas registradas por resultado, sumando todos los buckets de álbum
+	private Map<String, Double> laminasPorResultado() {
+		return List.of(LaminaMetricas.ACEPTADA, LaminaMetricas.REPETIDA, LaminaMetricas.RECHAZADA).stream()
+			.collect(Collectors.toMap(resultado -> resultado, resultado -> meterRegistry.find("app.laminas.agregadas")
+				.tag("resultado", resultado)
+				.counters()
+				.stream()
+				.mapToDouble(Counter::count)
+				.sum()));
+	}
+
+	private Long crearAlbum(String nombre) {
+		return albumService.crearAlbum(new AlbumRequestDTO(nombre, 2026, "Álbum de prueba")).getId();
+	}
+
+	private Map<String, Long> crearCatalogo(Long albumId, String... nombres) {
+		List<LaminaCatalogoRequestDTO> laminas = Arrays.stream(nombres)
+			.map(nombre -> new LaminaCatalogoRequestDTO(nombre, null, LocalDate.of(2026, 1, 1), "Jugador"))
+			.toList();
+		return catalogoService.crearCatalogo(albumId, laminas).stream()
+			.collect(Collectors.toMap(LaminaCatalogoResponseDTO::nombre, LaminaCatalogoResponseDTO::id));
+	}
+
+	private static LaminaRequestDTO lamina(String nombre) {
+		return new LaminaRequestDTO(null, nombre, null, LocalDate.of(2026, 1, 1), "Jugador");
+	}
+}
@@ -0,0 +1,201 @@
+package ipss.web2.examen.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Hub de suscripciones SSE: entrega en orden por suscriptor, desconexión de clientes lentos
+// sin frenar a los demás y limpieza al completarse, vencer o fallar la conexión
+class ProgresoAlbumHubTests {
+
+	private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+	private final Deque<EmitterDePrueba> emitters = new ArrayDeque<>();
+	private ProgresoAlbumHub hub;
+
+	@BeforeEach
+	void crearHub() {
+		hub = new ProgresoAlbumHub(new ObjectMapper(), new SimpleMeterRegistry()) {
+			@Override
+			SseEmitter crearEmitter(long timeoutMillis) {
+				return emitters.isEmpty() ? new EmitterDePrueba(null) : emitters.poll();
+			}
+		};
+		ReflectionTestUtils.setField(hub, "timeout", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(hub, "eventosPendientesMaximo", 3);
+		hub.iniciar();
+	}
+
+	@AfterEach
+	void detenerHub() {
+		hub.detener();
+	}
+
+	@Test
+	void eventosSeEntreganEnOrden() {
+		EmitterDePrueba emitter = new EmitterDePrueba(null);
+		emitters.add(emitter);
+		hub.suscribir(1L, () -> evento(0));
+
+		// Publicar de a uno para no superar el máximo de pendientes del suscriptor
+		for (long id = 1; id <= 100; id++) {
+			long esperados = id;
+			hub.publicar(1L, evento(id));
+			await().pollInterval(Duration.ofMillis(5)).atMost(Duration.ofSeconds(5))
+				.until(() -> emitter.enviados.size() == esperados + 1);
+		}
+
+		assertThat(emitter.ids()).containsExactlyElementsOf(LongStream.rangeClosed(0, 100).boxed().toList());
+	}
+
+	@Test
+	void clienteLentoSeDesconectaSinFrenarALosDemas() {
+		CountDownLatch liberar = new CountDownLatch(1);
+		EmitterDePrueba lento = new EmitterDePrueba(liberar);
+		EmitterDePrueba rapido = new EmitterDePrueba(null);
+		emitters.add(lento);
+		emitters.add(rapido);
+		hub.suscribir(1L, () -> evento(0));
+		hub.suscribir(1L, () -> evento(0));
+		// El lento queda detenido enviando el estado inicial
+		await().atMost(Duration.ofSeconds(5)).until(() -> lento.enviando);
+
+		for (long id = 1; id <= 3; id++) {
+			hub.publicar(1L, evento(id));
+			long esperados = id;
+			await().atMost(Duration.ofSeconds(5)).until(() -> rapido.enviados.size() == esperados + 1);
+		}
+		assertThat(lento.completado).isFalse();
+
+		// Un evento más del máximo de pendientes: se desconecta solo el lento
+		hub.publicar(1L, evento(4));
+
+		assertThat(lento.completado).isTrue();
+		assertThat(hub.suscriptores()).isEqualTo(1);
+		await().atMost(Duration.ofSeconds(5)).until(() -> rapido.enviados.size() == 5);
+		assertThat(rapido.ids()).containsExactly(0L, 1L, 2L, 3L, 4L);
+		liberar.countDown();
+	}
+
+	@Test
+	void conexionSeQuitaAlCompletarseVencerOFallar() {
+		EmitterDePrueba completada = new EmitterDePrueba(null);
+		EmitterDePrueba vencida = new EmitterDePrueba(null);
+		EmitterDePrueba fallida = new EmitterDePrueba(null);
+		emitters.addAll(List.of(completada, vencida, fallida));
+		hub.suscribir(1L, () -> evento(0));
+		hub.suscribir(1L, () -> evento(0));
+		hub.suscribir(2L, () -> evento(0));
+		assertThat(hub.suscriptores()).isEqualTo(3);
+
+		completada.alCompletar.run();
+		assertThat(hub.suscriptores()).isEqualTo(2);
+
+		vencida.alVencer.run();
+		assertThat(vencida.completado).isTrue();
+		assertThat(hub.tieneSuscriptores(1L)).isFalse();
+
+		fallida.alFallar.accept(new IOException("conexión cerrada"));
+		assertThat(hub.tieneSuscriptores(2L)).isFalse();
+		assertThat(hub.suscriptores()).isZero();
+	}
+
+	@Test
+	void fallaDelEstadoInicialNoDejaLaSuscripcion() {
+		assertThatThrownBy(() -> hub.suscribir(1L, () -> {
+			throw new IllegalStateException("sin álbum");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(hub.tieneSuscriptores(1L)).isFalse();
+		assertThat(hub.suscriptores()).isZero();
+	}
+
+	private static ProgresoAlbumHub.Evento evento(long id) {
+		return new ProgresoAlbumHub.Evento(ProgresoAlbumService.EVENTO_PROGRESO, id, Map.of("id", id));
+	}
+
+	// Emitter sin servlet: registra lo enviado y los callbacks; con 'liberar' cada envío espera
+	private static final class EmitterDePrueba extends SseEmitter {
+
+		private final CountDownLatch liberar;
+		private final List<String> enviados = new CopyOnWriteArrayList<>();
+		private volatile boolean enviando;
+		private volatile boolean completado;
+		private Runnable alCompletar;
+		private Runnable alVencer;
+		private Consumer<Throwable> alFallar;
+
+		private EmitterDePrueba(CountDownLatch liberar) {
+			this.liberar = liberar;
+		}
+
+		@Override
+		public void send(SseEventBuilder evento) throws IOException {
+			enviando = true;
+			if (liberar != null) {
+				try {
+					liberar.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}
+			enviados.add(evento.build().stream()
+				.map(ResponseBodyEmitter.DataWithMediaType::getData)
+				.map(Object::toString)
+				.collect(Collectors.joining()));
+		}
+
+		@Override
+		public void complete() {
+			completado = true;
+		}
+
+		@Override
+		public void onCompletion(Runnable callback) {
+			alCompletar = callback;
+		}
+
+		@Override
+		public void onTimeout(Runnable callback) {
+			alVencer = callback;
+		}
+
+		@Override
+		public void onError(Consumer<Throwable> callback) {
+			alFallar = callback;
+		}
+
+		private List<Long> ids() {
+			return enviados.stream()
+				.map(ID::matcher)
+				.filter(Matcher::find)
+				.map(m -> Long.parseLong(m.group(1)))
+				.toList();
+		}
+	}
+}